@@ -0,0 +1,114 @@
+package ru.practicum.shareit.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.ShareItGateway;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BaseClientRoundTripBenchmark {
+    private static final int USERS = 100;
+
+    @Param({"blocking", "reactive"})
+    private String transport;
+
+    @Param({"true", "false"})
+    private boolean passThrough;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ConfigurableApplicationContext context;
+    private UserClient userClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] user = user(1).getBytes(StandardCharsets.UTF_8);
+        byte[] users = users().getBytes(StandardCharsets.UTF_8);
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users", exchange -> respond(exchange,
+                exchange.getRequestURI().getPath().equals("/users") ? users : user));
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        context = new SpringApplicationBuilder(ShareItGateway.class)
+                .web(WebApplicationType.NONE)
+                .run("--shareit-server.url=http://localhost:" + server.getAddress().getPort(),
+                        "--shareit-server.transport=" + transport,
+                        "--shareit-server.pass-through=" + passThrough,
+                        "--shareit-server.cache.enabled=false",
+                        "--shareit-server.coalesce-reads=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+        userClient = context.getBean(UserClient.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> getUserById() {
+        return userClient.getUserById(1L).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> getAllUsers() {
+        return userClient.getAllUsers().block();
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String users() {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (int id = 1; id <= USERS; id++) {
+            json.add(user(id));
+        }
+        return json.toString();
+    }
+
+    private static String user(int id) {
+        return "{\"id\":" + id + ",\"name\":\"Пользователь " + id + "\",\"email\":\"user" + id + "@bench.ru\"}";
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.load;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadDriver {
+    private static final int PAGE_SIZE = 20;
+
+    private final ShareItApi api;
+    private final LoadProperties properties;
+
+    public Map<Operation, OperationStats> run(Population population) throws InterruptedException {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        SplittableRandom seeds = new SplittableRandom(properties.getSeed() + 1);
+
+        log.info("Прогрев {} с, {} потоков", properties.getWarmUp().toSeconds(), properties.getConcurrency());
+        drive(population, stats, properties.getWarmUp(), seeds);
+        stats.values().forEach(OperationStats::reset);
+
+        log.info("Замер {} с, {} потоков", properties.getDuration().toSeconds(), properties.getConcurrency());
+        drive(population, stats, properties.getDuration(), seeds);
+        return stats;
+    }
+
+    private void drive(Population population, Map<Operation, OperationStats> stats, Duration duration,
+                       SplittableRandom seeds) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < properties.getConcurrency(); w++) {
+            SplittableRandom random = seeds.split();
+            workers.add(Thread.ofVirtual().start(() -> {
+                while (System.nanoTime() < deadline) {
+                    execute(Operation.pick(properties.getMix(), random), population, stats, random);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private void execute(Operation operation, Population population, Map<Operation, OperationStats> stats,
+                         SplittableRandom random) {
+        Population.Booking pending = null;
+        Population.CompletedBooking completed = null;
+        if (operation == Operation.APPROVE_BOOKING) {
+            pending = population.pollPendingBooking();
+            if (pending == null) {
+                operation = Operation.CREATE_BOOKING;
+            }
+        } else if (operation == Operation.COMMENT) {
+            completed = population.completedBooking(random);
+            if (completed == null) {
+                operation = Operation.SEARCH;
+            }
+        }
+
+        long started = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = switch (operation) {
+                case SEARCH -> api.searchItems(population.randomUser(random), population.searchText(random),
+                        PAGE_SIZE);
+                case CREATE_BOOKING -> createBooking(population, random);
+                case APPROVE_BOOKING -> api.approveBooking(pending.ownerId(), pending.id(), random.nextInt(5) != 0);
+                case OWNER_BOOKINGS -> api.getOwnerBookings(population.itemOwnerId(population.popularItem(random)),
+                        PAGE_SIZE);
+                case COMMENT -> api.addComment(completed.bookerId(), completed.itemId(),
+                        "Отличная вещь, всё работает");
+            };
+            stats.get(operation).record(System.nanoTime() - started, response.statusCode());
+        } catch (IOException e) {
+            stats.get(operation).recordFailure(System.nanoTime() - started);
+            log.debug("Запрос {} завершился ошибкой", operation, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpResponse<byte[]> createBooking(Population population, SplittableRandom random)
+            throws IOException, InterruptedException {
+        int item = population.popularItem(random);
+        LocalDateTime start = LocalDateTime.now().plusDays(1 + random.nextInt(365)).plusHours(random.nextInt(24));
+        HttpResponse<byte[]> response = api.createBooking(population.bookerOf(item, random), population.itemId(item),
+                start, start.plusHours(1 + random.nextInt(72)));
+        if (response.statusCode() / 100 == 2) {
+            population.addPendingBooking(new Population.Booking(api.id(response), population.itemOwnerId(item)));
+        }
+        return response;
+    }
+}
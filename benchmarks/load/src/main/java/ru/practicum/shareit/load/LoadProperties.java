@@ -0,0 +1,51 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import ru.practicum.shareit.seed.SeedProperties;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.load")
+public class LoadProperties {
+    private URI gatewayUrl = URI.create("http://localhost:8080");
+    private int concurrency = 64;
+    private Duration warmUp = Duration.ofSeconds(30);
+    private Duration duration = Duration.ofMinutes(2);
+    private Duration requestTimeout = Duration.ofSeconds(10);
+    private long seed = 42;
+    private Population population = new Population();
+    private Mix mix = new Mix();
+
+    @Getter
+    @Setter
+    public static class Population {
+        public static final String SOURCE_API = "api";
+        public static final String SOURCE_SERVER = "server";
+
+        private String source = SOURCE_API;
+        private int users = 1000;
+        private int items = 5000;
+        private double ownerSkew = 1.1;
+        private double itemSkew = 0.9;
+        private int completedBookings = 200;
+        private int concurrency = 32;
+        private long firstUserId = 1;
+        private long firstItemId = 1;
+        private SeedProperties plan = new SeedProperties();
+    }
+
+    @Getter
+    @Setter
+    public static class Mix {
+        private int search = 50;
+        private int createBooking = 15;
+        private int approveBooking = 10;
+        private int ownerBookings = 20;
+        private int comment = 5;
+    }
+}
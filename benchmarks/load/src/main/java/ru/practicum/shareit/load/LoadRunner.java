@@ -0,0 +1,43 @@
+package ru.practicum.shareit.load;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadRunner implements ApplicationRunner {
+    private final PopulationSeeder seeder;
+    private final LoadDriver driver;
+    private final LoadProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        log.info("Нагрузка на {} с зерном {}", properties.getGatewayUrl(), properties.getSeed());
+        Population population = seeder.seed();
+        Map<Operation, OperationStats> stats = driver.run(population);
+        report(stats, properties.getDuration().toMillis() / 1000.0);
+    }
+
+    private void report(Map<Operation, OperationStats> stats, double seconds) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%n%-16s %10s %10s %8s %8s %9s %9s %9s %9s %9s", "operation", "requests", "rps", "4xx", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        long total = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operation = entry.getValue();
+            total += operation.count();
+            table.append(String.format(Locale.ROOT, "%n%-16s %10d %10.1f %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f",
+                    entry.getKey(), operation.count(), operation.count() / seconds, operation.rejected(),
+                    operation.failed(), operation.percentileMillis(50), operation.percentileMillis(90),
+                    operation.percentileMillis(99), operation.percentileMillis(99.9), operation.maxMillis()));
+        }
+        log.info("Итоги нагрузки: {} запросов, {} запр/с{}", total, String.format(Locale.ROOT, "%.1f", total / seconds),
+                table);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.load;
+
+import java.util.random.RandomGenerator;
+
+public enum Operation {
+    SEARCH,
+    CREATE_BOOKING,
+    APPROVE_BOOKING,
+    OWNER_BOOKINGS,
+    COMMENT;
+
+    public static Operation pick(LoadProperties.Mix mix, RandomGenerator random) {
+        int[] weights = {mix.getSearch(), mix.getCreateBooking(), mix.getApproveBooking(), mix.getOwnerBookings(),
+                mix.getComment()};
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Сумма весов операций должна быть положительной");
+        }
+        int point = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            point -= weights[i];
+            if (point < 0) {
+                return values()[i];
+            }
+        }
+        return SEARCH;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OperationStats {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public void record(long latencyNanos, int status) {
+        latencies.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        if (status >= 500) {
+            failed.increment();
+        } else if (status >= 400) {
+            rejected.increment();
+        }
+    }
+
+    public void recordFailure(long latencyNanos) {
+        latencies.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        failed.increment();
+    }
+
+    public void reset() {
+        latencies.reset();
+        rejected.reset();
+        failed.reset();
+    }
+
+    public long count() {
+        return latencies.getTotalCount();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    public double maxMillis() {
+        return latencies.getMaxValue() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.load;
+
+import ru.practicum.shareit.seed.SeedPlan;
+import ru.practicum.shareit.seed.ZipfSampler;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+public class Population {
+    private static final int MAX_PENDING_BOOKINGS = 10_000;
+
+    public record Booking(long id, long ownerId) {
+    }
+
+    public record CompletedBooking(long bookerId, long itemId) {
+    }
+
+    private final long[] userIds;
+    private final long[] itemIds;
+    private final long[] itemOwnerIds;
+    private final List<CompletedBooking> completedBookings;
+    private final ZipfSampler itemSampler;
+    private final Queue<Booking> pendingBookings = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public Population(long[] userIds, long[] itemIds, long[] itemOwnerIds, List<CompletedBooking> completedBookings,
+                      double itemSkew) {
+        if (userIds.length < 2 || itemIds.length == 0) {
+            throw new IllegalArgumentException("Для нагрузки нужны хотя бы два пользователя и одна вещь");
+        }
+        this.userIds = userIds;
+        this.itemIds = itemIds;
+        this.itemOwnerIds = itemOwnerIds;
+        this.completedBookings = List.copyOf(completedBookings);
+        this.itemSampler = new ZipfSampler(itemIds.length, itemSkew);
+    }
+
+    public long randomUser(RandomGenerator random) {
+        return userIds[random.nextInt(userIds.length)];
+    }
+
+    public int popularItem(RandomGenerator random) {
+        return itemSampler.sample(random);
+    }
+
+    public long itemId(int item) {
+        return itemIds[item];
+    }
+
+    public long itemOwnerId(int item) {
+        return itemOwnerIds[item];
+    }
+
+    public long bookerOf(int item, RandomGenerator random) {
+        long booker = randomUser(random);
+        while (booker == itemOwnerIds[item]) {
+            booker = randomUser(random);
+        }
+        return booker;
+    }
+
+    public String searchText(RandomGenerator random) {
+        return SeedPlan.VOCABULARY.get(random.nextInt(SeedPlan.VOCABULARY.size()));
+    }
+
+    public CompletedBooking completedBooking(RandomGenerator random) {
+        return completedBookings.isEmpty() ? null : completedBookings.get(random.nextInt(completedBookings.size()));
+    }
+
+    public void addPendingBooking(Booking booking) {
+        if (pendingCount.incrementAndGet() > MAX_PENDING_BOOKINGS) {
+            pendingCount.decrementAndGet();
+            return;
+        }
+        pendingBookings.add(booking);
+    }
+
+    public Booking pollPendingBooking() {
+        Booking booking = pendingBookings.poll();
+        if (booking != null) {
+            pendingCount.decrementAndGet();
+        }
+        return booking;
+    }
+
+    public int users() {
+        return userIds.length;
+    }
+
+    public int items() {
+        return itemIds.length;
+    }
+}
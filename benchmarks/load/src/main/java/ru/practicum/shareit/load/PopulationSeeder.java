@@ -0,0 +1,173 @@
+package ru.practicum.shareit.load;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.seed.SeedPlan;
+import ru.practicum.shareit.seed.SeedProperties;
+import ru.practicum.shareit.seed.ZipfSampler;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PopulationSeeder {
+    private static final Duration BOOKING_SLOT = Duration.ofMillis(20);
+    private static final Duration BOOKING_LEAD = Duration.ofSeconds(5);
+
+    private final ShareItApi api;
+    private final LoadProperties properties;
+
+    public Population seed() throws InterruptedException {
+        LoadProperties.Population config = properties.getPopulation();
+        if (LoadProperties.Population.SOURCE_SERVER.equals(config.getSource())) {
+            return replayServerPlan(config);
+        }
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        long started = System.nanoTime();
+
+        long[] userIds = new long[config.getUsers()];
+        forEachIndex(userIds.length, "пользователи", i -> userIds[i] = created(api.createUser("Пользователь " + i,
+                "load-" + properties.getSeed() + "-" + i + "@shareit.ru")));
+
+        ZipfSampler ownerSampler = new ZipfSampler(userIds.length, config.getOwnerSkew());
+        int[] itemOwners = new int[config.getItems()];
+        int[] itemWords = new int[config.getItems()];
+        for (int i = 0; i < itemOwners.length; i++) {
+            itemOwners[i] = ownerSampler.sample(random);
+            itemWords[i] = random.nextInt(SeedPlan.VOCABULARY.size());
+        }
+        long[] itemIds = new long[itemOwners.length];
+        long[] itemOwnerIds = new long[itemOwners.length];
+        forEachIndex(itemIds.length, "вещи", i -> {
+            String word = SeedPlan.VOCABULARY.get(itemWords[i]);
+            itemOwnerIds[i] = userIds[itemOwners[i]];
+            itemIds[i] = created(api.createItem(itemOwnerIds[i], word + " №" + i, "Сдаётся " + word
+                    + " в хорошем состоянии"));
+        });
+
+        Population population = new Population(userIds, itemIds, itemOwnerIds, List.of(), config.getItemSkew());
+        List<Population.CompletedBooking> completed = seedCompletedBookings(population, random,
+                config.getCompletedBookings());
+
+        log.info("Данные для нагрузки созданы за {} с: пользователей {}, вещей {}, завершённых бронирований {}",
+                Duration.ofNanos(System.nanoTime() - started).toSeconds(), userIds.length, itemIds.length,
+                completed.size());
+        return new Population(userIds, itemIds, itemOwnerIds, completed, config.getItemSkew());
+    }
+
+    private Population replayServerPlan(LoadProperties.Population config) {
+        SeedProperties plan = config.getPlan();
+        long[] userIds = LongStream.range(config.getFirstUserId(), config.getFirstUserId() + plan.getUsers())
+                .toArray();
+        List<Long> itemIds = new ArrayList<>();
+        List<Long> itemOwnerIds = new ArrayList<>();
+        List<Population.CompletedBooking> completed = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        new SeedPlan(plan).generate(new SeedPlan.FirstIds(config.getFirstUserId(), 0, config.getFirstItemId(), 0, 0),
+                new SeedPlan.Rows() {
+                    @Override
+                    public void item(long id, String name, String description, boolean available, long ownerId,
+                                     Long requestId) {
+                        if (available) {
+                            itemIds.add(id);
+                            itemOwnerIds.add(ownerId);
+                        }
+                    }
+
+                    @Override
+                    public void booking(long id, LocalDateTime start, LocalDateTime end, long itemId, long bookerId,
+                                        BookingStatus status) {
+                        if (status == BookingStatus.APPROVED && end.isBefore(now)) {
+                            completed.add(new Population.CompletedBooking(bookerId, itemId));
+                        }
+                    }
+                });
+
+        log.info("Данные для нагрузки восстановлены по плану сервера: пользователей {}, доступных вещей {}, "
+                + "завершённых бронирований {}", userIds.length, itemIds.size(), completed.size());
+        return new Population(userIds, itemIds.stream().mapToLong(Long::longValue).toArray(),
+                itemOwnerIds.stream().mapToLong(Long::longValue).toArray(), completed, config.getItemSkew());
+    }
+
+    private List<Population.CompletedBooking> seedCompletedBookings(Population population, SplittableRandom random,
+                                                                    int count) throws InterruptedException {
+        int[] items = new int[count];
+        long[] bookers = new long[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = population.popularItem(random);
+            bookers[i] = population.bookerOf(items[i], random);
+        }
+
+        LocalDateTime base = LocalDateTime.now().plus(BOOKING_LEAD);
+        ConcurrentLinkedQueue<Population.CompletedBooking> completed = new ConcurrentLinkedQueue<>();
+        forEachIndex(count, "завершённые бронирования", i -> {
+            LocalDateTime start = base.plus(BOOKING_SLOT.multipliedBy(i));
+            HttpResponse<byte[]> booking = api.createBooking(bookers[i], population.itemId(items[i]), start,
+                    start.plus(BOOKING_SLOT.dividedBy(2)));
+            if (booking.statusCode() / 100 != 2) {
+                return;
+            }
+            HttpResponse<byte[]> approval = api.approveBooking(population.itemOwnerId(items[i]), api.id(booking),
+                    true);
+            if (approval.statusCode() / 100 == 2) {
+                completed.add(new Population.CompletedBooking(bookers[i], population.itemId(items[i])));
+            }
+        });
+
+        Duration untilFinished = Duration.between(LocalDateTime.now(), base.plus(BOOKING_SLOT.multipliedBy(count)));
+        if (!untilFinished.isNegative()) {
+            Thread.sleep(untilFinished.toMillis() + 1);
+        }
+        return new ArrayList<>(completed);
+    }
+
+    private long created(HttpResponse<byte[]> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Не удалось создать данные для нагрузки: " + response.statusCode() + " "
+                    + new String(response.body()));
+        }
+        return api.id(response);
+    }
+
+    private void forEachIndex(int count, String stage, IndexTask task) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        ConcurrentLinkedQueue<Exception> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < properties.getPopulation().getConcurrency(); w++) {
+            workers.add(Thread.ofVirtual().start(() -> {
+                for (int i = next.getAndIncrement(); i < count && failures.isEmpty(); i = next.getAndIncrement()) {
+                    try {
+                        task.run(i);
+                    } catch (Exception e) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Ошибка при создании данных: " + stage, failures.peek());
+        }
+        log.info("Создано: {} — {}", stage, count);
+    }
+
+    @FunctionalInterface
+    private interface IndexTask {
+        void run(int index) throws Exception;
+    }
+}
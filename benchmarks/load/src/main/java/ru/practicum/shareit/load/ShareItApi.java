@@ -0,0 +1,115 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+public class ShareItApi implements AutoCloseable {
+    static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final URI gatewayUrl;
+    private final LoadProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+
+    public ShareItApi(LoadProperties properties, ObjectMapper objectMapper) {
+        this.gatewayUrl = properties.getGatewayUrl();
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getRequestTimeout())
+                .executor(executor)
+                .build();
+    }
+
+    public HttpResponse<byte[]> createUser(String name, String email) throws IOException, InterruptedException {
+        return post("/users", null, Map.of("name", name, "email", email));
+    }
+
+    public HttpResponse<byte[]> createItem(long ownerId, String name, String description)
+            throws IOException, InterruptedException {
+        return post("/items", ownerId, Map.of("name", name, "description", description, "available", true));
+    }
+
+    public HttpResponse<byte[]> createBooking(long bookerId, long itemId, LocalDateTime start, LocalDateTime end)
+            throws IOException, InterruptedException {
+        return post("/bookings", bookerId, Map.of("itemId", itemId, "start", start, "end", end));
+    }
+
+    public HttpResponse<byte[]> approveBooking(long ownerId, long bookingId, boolean approved)
+            throws IOException, InterruptedException {
+        return send(request("/bookings/" + bookingId + "?approved=" + approved, ownerId)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    public HttpResponse<byte[]> getOwnerBookings(long ownerId, int size) throws IOException, InterruptedException {
+        return send(request("/bookings/owner?state=ALL&from=0&size=" + size, ownerId).GET().build());
+    }
+
+    public HttpResponse<byte[]> searchItems(long userId, String text, int size)
+            throws IOException, InterruptedException {
+        return send(request("/items/search?from=0&size=" + size + "&text="
+                + URLEncoder.encode(text, StandardCharsets.UTF_8), userId).GET().build());
+    }
+
+    public HttpResponse<byte[]> addComment(long authorId, long itemId, String text)
+            throws IOException, InterruptedException {
+        return post("/items/" + itemId + "/comment", authorId, Map.of("text", text));
+    }
+
+    public long id(HttpResponse<byte[]> response) throws IOException {
+        JsonNode id = objectMapper.readTree(response.body()).get("id");
+        if (id == null || !id.canConvertToLong()) {
+            throw new IOException("В ответе нет идентификатора: " + response.statusCode());
+        }
+        return id.asLong();
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+        executor.close();
+    }
+
+    private HttpResponse<byte[]> post(String path, Long userId, Object body) throws IOException, InterruptedException {
+        return send(request(path, userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json(body)))
+                .build());
+    }
+
+    private HttpRequest.Builder request(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(gatewayUrl.resolve(path))
+                .timeout(properties.getRequestTimeout())
+                .header("Accept", "application/json");
+        if (userId != null) {
+            builder.header(USER_HEADER, userId.toString());
+        }
+        return builder;
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private byte[] json(Object body) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(body);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationTest {
+
+    @Test
+    void pick_shouldFollowOperationWeights() {
+        LoadProperties.Mix mix = new LoadProperties.Mix();
+        mix.setSearch(3);
+        mix.setCreateBooking(1);
+        mix.setApproveBooking(0);
+        mix.setOwnerBookings(0);
+        mix.setComment(0);
+        SplittableRandom random = new SplittableRandom(3);
+
+        long searches = IntStream.range(0, 40_000)
+                .mapToObj(i -> Operation.pick(mix, random))
+                .filter(operation -> operation == Operation.SEARCH)
+                .count();
+
+        assertTrue(Math.abs(searches - 30_000) < 600);
+    }
+
+    @Test
+    void pick_withoutWeights_shouldFail() {
+        LoadProperties.Mix mix = new LoadProperties.Mix();
+        mix.setSearch(0);
+        mix.setCreateBooking(0);
+        mix.setApproveBooking(0);
+        mix.setOwnerBookings(0);
+        mix.setComment(0);
+
+        assertThrows(IllegalArgumentException.class, () -> Operation.pick(mix, new SplittableRandom(1)));
+    }
+}
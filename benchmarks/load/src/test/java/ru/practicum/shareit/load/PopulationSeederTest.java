@@ -0,0 +1,43 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.seed.SeedProperties;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class PopulationSeederTest {
+
+    @Test
+    void seed_fromServerPlan_shouldRebuildPopulationWithoutApiCalls() throws InterruptedException {
+        LoadProperties properties = new LoadProperties();
+        LoadProperties.Population config = properties.getPopulation();
+        config.setSource(LoadProperties.Population.SOURCE_SERVER);
+        config.setFirstUserId(101);
+        config.setFirstItemId(501);
+        SeedProperties plan = config.getPlan();
+        plan.setUsers(50);
+        plan.setRequests(20);
+        plan.setItems(200);
+        plan.setBookings(2000);
+        plan.setAnchor(LocalDateTime.of(2020, 6, 1, 0, 0));
+        ShareItApi api = mock(ShareItApi.class);
+
+        Population population = new PopulationSeeder(api, properties).seed();
+
+        assertEquals(50, population.users());
+        assertTrue(population.items() > 150 && population.items() < 200);
+        assertTrue(IntStream.range(0, population.items()).allMatch(item -> population.itemId(item) >= 501
+                && population.itemId(item) < 701 && population.itemOwnerId(item) >= 101
+                && population.itemOwnerId(item) < 151));
+        Population.CompletedBooking completed = population.completedBooking(new SplittableRandom(1));
+        assertNotNull(completed);
+        assertTrue(completed.bookerId() >= 101 && completed.bookerId() < 151);
+        verifyNoInteractions(api);
+    }
+}
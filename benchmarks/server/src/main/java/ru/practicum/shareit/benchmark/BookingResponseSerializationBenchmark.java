@@ -0,0 +1,59 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingResponseSerializationBenchmark {
+    @Param({"20", "1000"})
+    private int rows;
+
+    private ObjectWriter writer;
+    private List<BookingResponse> bookings;
+
+    @Setup
+    public void setUp() {
+        BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        bookings = LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> bookingMapper.toBookingResponse(new BookingView(id, start.plusHours(id),
+                        start.plusHours(id + 2), BookingStatus.APPROVED, 2L, "Арендатор", "booker@email.com",
+                        id, "Дрель " + id, "Аккумуляторная дрель", true, 1L, null)))
+                .toList();
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(new TypeReference<List<BookingResponse>>() {
+        });
+    }
+
+    @Benchmark
+    public byte[] writeList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(bookings);
+    }
+}
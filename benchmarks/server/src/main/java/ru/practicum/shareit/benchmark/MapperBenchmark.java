@@ -0,0 +1,90 @@
+package ru.practicum.shareit.benchmark;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
+    private final ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    private User user;
+    private Item item;
+    private Booking booking;
+    private BookingView bookingView;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        user = User.builder().id(2L).name("Арендатор").email("booker@email.com").version(0L).build();
+        item = Item.builder()
+                .id(1L)
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .owner(1L)
+                .version(0L)
+                .build();
+        booking = Booking.builder()
+                .id(1L)
+                .start(start)
+                .end(start.plusDays(1))
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.WAITING)
+                .version(0L)
+                .build();
+        bookingView = new BookingView(1L, start, start.plusDays(1), BookingStatus.WAITING, user.getId(),
+                user.getName(), user.getEmail(), item.getId(), item.getName(), item.getDescription(),
+                item.getAvailable(), item.getOwner(), null);
+    }
+
+    @Benchmark
+    public BookingResponse bookingToResponse() {
+        return bookingMapper.toBookingResponse(booking);
+    }
+
+    @Benchmark
+    public BookingResponse bookingViewToResponse() {
+        return bookingMapper.toBookingResponse(bookingView);
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+        return itemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public UserDto userToDto() {
+        return userMapper.toUserDto(user);
+    }
+}
@@ -1,86 +1,196 @@
 package ru.practicum.shareit.client;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public class BaseClient {
+    private static final Set<String> NON_FORWARDED_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "te", "trailer", "upgrade", "proxy-authenticate", "proxy-authorization", "content-length");
+
     protected final RestTemplate rest;
 
+    public static final String TRANSPORT_BLOCKING = "blocking";
+    public static final String TRANSPORT_REACTIVE = "reactive";
+
+    @Nullable
+    private final WebClient.Builder webClientBuilder;
+
+    @Value("${shareit-server.pass-through:true}")
+    private boolean passThrough = true;
+
+    @Value("${shareit-server.transport:blocking}")
+    private String transport = TRANSPORT_BLOCKING;
+
+    @Value("${shareit-server.coalesce-reads:true}")
+    private boolean coalesceReads = true;
+
+    private final ConcurrentMap<ReadKey, Mono<ResponseEntity<Object>>> inFlightReads = new ConcurrentHashMap<>();
+
+    @Nullable
+    private WebClient webClient;
+
+    @Nullable
+    private WebClient streamingClient;
+
     public BaseClient(RestTemplate rest) {
+        this(rest, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable WebClient.Builder webClientBuilder) {
         this.rest = rest;
+        this.webClientBuilder = webClientBuilder;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    @PostConstruct
+    void initTransport() {
+        if (webClientBuilder == null) {
+            return;
+        }
+        streamingClient = webClientBuilder.build();
+        if (TRANSPORT_REACTIVE.equals(transport)) {
+            webClient = streamingClient;
+        }
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        String ifNoneMatch = currentRequestHeader(HttpHeaders.IF_NONE_MATCH);
+        if (!coalesceReads) {
+            return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, ifNoneMatch);
+        }
+        ReadKey key = new ReadKey(path, userId, parameters != null ? new HashMap<>(parameters) : Map.of(),
+                ifNoneMatch);
+        return Mono.defer(() -> inFlightReads.computeIfAbsent(key, read ->
+                makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, ifNoneMatch)
+                        .doOnTerminate(() -> inFlightReads.remove(read))
+                        .doOnCancel(() -> inFlightReads.remove(read))
+                        .cache()));
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, null);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Flux<String>>> postForLines(String path, long userId, T body) {
+        if (streamingClient == null) {
+            return Mono.error(new IllegalStateException("Потоковая передача ответа требует WebClient"));
+        }
+        HttpHeaders requestHeaders = defaultHeaders(HttpMethod.POST, userId, null);
+        requestHeaders.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+
+        return streamingClient.post()
+                .uri(path)
+                .headers(headers -> headers.addAll(requestHeaders))
+                .bodyValue(body)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, response -> Mono.empty())
+                .toEntityFlux(String.class)
+                .map(shareitServerResponse -> ResponseEntity.status(shareitServerResponse.getStatusCode())
+                        .headers(forwardedHeaders(shareitServerResponse.getHeaders()))
+                        .body(shareitServerResponse.getBody().map(line -> line + "\n")));
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body,
+                currentRequestHeader(HttpHeaders.IF_MATCH));
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null, null);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body, @Nullable String precondition) {
+        HttpHeaders headers = defaultHeaders(method, userId, precondition);
+        if (webClient != null) {
+            return exchangeReactive(webClient, method, path, headers, parameters, body);
+        }
+        return Mono.fromCallable(() -> exchangeBlocking(method, path, headers, parameters, body));
+    }
+
+    private <T> Mono<ResponseEntity<Object>> exchangeReactive(WebClient client, HttpMethod method, String path, HttpHeaders requestHeaders, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = client.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(requestHeaders));
+        WebClient.RequestHeadersSpec<?> exchange = body != null ? request.bodyValue(body) : request;
+        Class<?> bodyType = passThrough ? byte[].class : Object.class;
+
+        return exchange.exchangeToMono(response -> response.toEntity(bodyType)
+                .map(shareitServerResponse -> ResponseEntity.status(shareitServerResponse.getStatusCode())
+                        .headers(forwardedHeaders(shareitServerResponse.getHeaders()))
+                        .<Object>body(shareitServerResponse.getBody())));
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> ResponseEntity<Object> exchangeBlocking(HttpMethod method, String path, HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+        if (passThrough) {
+            return forwardRawResponse(method, path, requestEntity, parameters);
+        }
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -95,16 +205,58 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private <T> ResponseEntity<Object> forwardRawResponse(HttpMethod method, String path, HttpEntity<T> requestEntity, @Nullable Map<String, Object> parameters) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(forwardedHeaders(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
+        }
+        return ResponseEntity.status(shareitServerResponse.getStatusCode())
+                .headers(forwardedHeaders(shareitServerResponse.getHeaders()))
+                .body(shareitServerResponse.getBody());
+    }
+
+    private static HttpHeaders forwardedHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!NON_FORWARDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return headers;
+    }
+
+    private HttpHeaders defaultHeaders(HttpMethod method, Long userId, @Nullable String precondition) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        if (precondition != null) {
+            headers.set(method == HttpMethod.GET ? HttpHeaders.IF_NONE_MATCH : HttpHeaders.IF_MATCH, precondition);
+        }
         return headers;
     }
 
+    @Nullable
+    static String currentRequestHeader(String name) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getHeader(name);
+        }
+        return null;
+    }
+
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
             return response;
@@ -118,4 +270,8 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    private record ReadKey(String path, @Nullable Long userId, Map<String, Object> parameters,
+                           @Nullable String ifNoneMatch) {
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class GatewayResponseCache implements MeterBinder {
+    static final String CACHE_NAME = "shareit.gateway.responses";
+
+    public enum Region {
+        ITEMS,
+        USERS,
+        REQUESTS
+    }
+
+    private record Key(Region region, String resource, @Nullable Long userId) {
+    }
+
+    private final boolean enabled;
+    private final Cache<Key, ResponseEntity<Object>> responses;
+    private final Map<Region, AtomicLong> generations = new EnumMap<>(Region.class);
+
+    public GatewayResponseCache(@Value("${shareit-server.cache.enabled:true}") boolean enabled,
+                                @Value("${shareit-server.cache.max-size:10000}") long maxSize,
+                                @Value("${shareit-server.cache.ttl:30s}") Duration ttl) {
+        this.enabled = enabled;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        for (Region region : Region.values()) {
+            generations.put(region, new AtomicLong());
+        }
+    }
+
+    public Mono<ResponseEntity<Object>> get(Region region, String resource, @Nullable Long userId,
+                                            Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Key key = new Key(region, resource, userId);
+        String ifNoneMatch = BaseClient.currentRequestHeader(HttpHeaders.IF_NONE_MATCH);
+        return Mono.defer(() -> {
+            ResponseEntity<Object> cached = responses.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(notModified(cached, ifNoneMatch) ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(cached.getHeaders().getETag())
+                        .build() : cached);
+            }
+            AtomicLong generation = generations.get(region);
+            long loadedAt = generation.get();
+            return loader.get().doOnNext(response -> {
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    return;
+                }
+                responses.put(key, response);
+                if (generation.get() != loadedAt) {
+                    responses.asMap().remove(key, response);
+                }
+            });
+        });
+    }
+
+    public <T> Mono<T> evictAfter(Mono<T> write, Region region, String resource) {
+        return runAfter(write, () -> evict(region, resource));
+    }
+
+    public <T> Mono<T> evictAllAfter(Mono<T> write, Region... regions) {
+        return runAfter(write, () -> {
+            for (Region region : regions) {
+                evictAll(region);
+            }
+        });
+    }
+
+    public void evict(Region region, String resource) {
+        generations.get(region).incrementAndGet();
+        responses.asMap().keySet().removeIf(key -> key.region() == region && key.resource().equals(resource));
+    }
+
+    public void evictAll(Region region) {
+        generations.get(region).incrementAndGet();
+        responses.asMap().keySet().removeIf(key -> key.region() == region);
+    }
+
+    public long size() {
+        responses.cleanUp();
+        return responses.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, CACHE_NAME);
+    }
+
+    private static boolean notModified(ResponseEntity<Object> cached, @Nullable String ifNoneMatch) {
+        String eTag = cached.getHeaders().getETag();
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        HttpHeaders conditions = new HttpHeaders();
+        conditions.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return conditions.getIfNoneMatch().stream()
+                .anyMatch(tag -> tag.equals("*") || weak(tag).equals(weak(eTag)));
+    }
+
+    private static String weak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private <T> Mono<T> runAfter(Mono<T> write, Runnable eviction) {
+        if (!enabled) {
+            return write;
+        }
+        return write.doOnTerminate(eviction).doOnCancel(eviction);
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import ru.practicum.shareit.client.BaseClient;
+
+import java.util.function.ToIntFunction;
+
+@Configuration
+@EnableConfigurationProperties(ServerHttpClientProperties.class)
+public class ServerHttpClientConfig {
+    static final String POOL_METRIC_PREFIX = "shareit.gateway.http.pool.";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager serverConnectionManager(ServerHttpClientProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setDefaultConnectionConfig(connectionConfig(properties))
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager,
+                                                ServerHttpClientProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(serverConnectionManager)
+                .setDefaultRequestConfig(requestConfig(properties))
+                .setKeepAliveStrategy(keepAliveStrategy(properties))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory serverRequestFactory(CloseableHttpClient serverHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+    }
+
+    @Bean
+    public RestTemplateCustomizer serverRequestFactoryCustomizer(ClientHttpRequestFactory serverRequestFactory) {
+        return restTemplate -> restTemplate.setRequestFactory(serverRequestFactory);
+    }
+
+    @Bean
+    public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+        return poolMetrics(serverConnectionManager, BaseClient.TRANSPORT_BLOCKING);
+    }
+
+    static ConnectionConfig connectionConfig(ServerHttpClientProperties properties) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+                .build();
+    }
+
+    static RequestConfig requestConfig(ServerHttpClientProperties properties) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                .build();
+    }
+
+    static ConnectionKeepAliveStrategy keepAliveStrategy(ServerHttpClientProperties properties) {
+        TimeValue maxKeepAlive = TimeValue.of(properties.getKeepAlive());
+        DefaultConnectionKeepAliveStrategy serverKeepAlive = new DefaultConnectionKeepAliveStrategy();
+        return (response, context) -> serverKeepAlive.getKeepAliveDuration(response, context).min(maxKeepAlive);
+    }
+
+    static MeterBinder poolMetrics(ConnPoolControl<HttpRoute> connectionPool, String transport) {
+        return registry -> {
+            registerPoolGauge(registry, connectionPool, transport, "leased",
+                    "Соединения с сервером, выданные запросам", PoolStats::getLeased);
+            registerPoolGauge(registry, connectionPool, transport, "pending",
+                    "Запросы, ожидающие свободное соединение", PoolStats::getPending);
+            registerPoolGauge(registry, connectionPool, transport, "available",
+                    "Свободные keep-alive соединения в пуле", PoolStats::getAvailable);
+            registerPoolGauge(registry, connectionPool, transport, "max",
+                    "Максимальный размер пула", PoolStats::getMax);
+        };
+    }
+
+    private static void registerPoolGauge(MeterRegistry registry,
+                                          ConnPoolControl<HttpRoute> connectionPool,
+                                          String transport,
+                                          String name,
+                                          String description,
+                                          ToIntFunction<PoolStats> stat) {
+        Gauge.builder(POOL_METRIC_PREFIX + name, connectionPool, pool -> stat.applyAsInt(pool.getTotalStats()))
+                .description(description)
+                .tag("transport", transport)
+                .register(registry);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.HttpComponentsClientHttpConnector;
+import ru.practicum.shareit.client.BaseClient;
+
+@Configuration
+public class ServerReactiveHttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingAsyncClientConnectionManager serverAsyncConnectionManager(ServerHttpClientProperties properties) {
+        return PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setDefaultConnectionConfig(ServerHttpClientConfig.connectionConfig(properties))
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpAsyncClient serverAsyncHttpClient(PoolingAsyncClientConnectionManager serverAsyncConnectionManager,
+                                                          ServerHttpClientProperties properties) {
+        return HttpAsyncClients.custom()
+                .setConnectionManager(serverAsyncConnectionManager)
+                .setDefaultRequestConfig(ServerHttpClientConfig.requestConfig(properties))
+                .setKeepAliveStrategy(ServerHttpClientConfig.keepAliveStrategy(properties))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector serverHttpConnector(CloseableHttpAsyncClient serverAsyncHttpClient) {
+        return new HttpComponentsClientHttpConnector(serverAsyncHttpClient);
+    }
+
+    @Bean
+    public WebClientCustomizer serverHttpConnectorCustomizer(ClientHttpConnector serverHttpConnector) {
+        return webClientBuilder -> webClientBuilder.clientConnector(serverHttpConnector);
+    }
+
+    @Bean
+    public MeterBinder serverAsyncConnectionPoolMetrics(PoolingAsyncClientConnectionManager serverAsyncConnectionManager) {
+        return ServerHttpClientConfig.poolMetrics(serverAsyncConnectionManager, BaseClient.TRANSPORT_REACTIVE);
+    }
+}
@@ -4,50 +4,99 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.GatewayResponseCache.Region;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final GatewayResponseCache responseCache;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      WebClient.Builder webClientBuilder, GatewayResponseCache responseCache) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build()
+                .build(),
+                webClientBuilder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> createItem(long userId, NewItemRequest request) {
+    public Mono<ResponseEntity<Object>> createItem(long userId, NewItemRequest request) {
+        if (request.getRequestId() != null) {
+            return responseCache.evictAllAfter(post("", userId, request), Region.REQUESTS);
+        }
         return post("", userId, request);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, Long itemId, Object request) {
-        return patch("/" + itemId, userId, request);
+    public Mono<ResponseEntity<Flux<String>>> importItems(long userId, List<NewItemRequest> requests) {
+        boolean answersRequests = requests.stream()
+                .filter(Objects::nonNull)
+                .anyMatch(request -> request.getRequestId() != null);
+        return postForLines("/bulk", userId, requests)
+                .map(response -> new ResponseEntity<>(response.getBody()
+                        .doFinally(signal -> {
+                            if (answersRequests) {
+                                responseCache.evictAll(Region.REQUESTS);
+                            }
+                        }), response.getHeaders(), response.getStatusCode()));
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(long userId, Long itemId, Object request) {
+        return responseCache.evictAllAfter(responseCache.evictAfter(patch("/" + itemId, userId, request),
+                Region.ITEMS, "/" + itemId), Region.REQUESTS);
     }
 
-    public ResponseEntity<Object> getItemById(long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItemById(long userId, Long itemId) {
+        return responseCache.get(Region.ITEMS, "/" + itemId, userId, () -> get("/" + itemId, userId));
     }
 
-    public ResponseEntity<Object> getUserItems(long userId) {
+    public Mono<ResponseEntity<Object>> getUserItems(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> searchItems(long userId, String text) {
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search?text={text}", userId, parameters);
+    public Mono<ResponseEntity<Object>> searchItems(long userId, String text, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> suggestItems(long userId, String text, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        parameters.put("size", size);
+        return get("/suggest?text={text}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemAvailability(long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(long userId, Long itemId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+    public Mono<ResponseEntity<Object>> addComment(long userId, Long itemId, CommentDto commentDto) {
+        return responseCache.evictAfter(post("/" + itemId + "/comment", userId, commentDto),
+                Region.ITEMS, "/" + itemId);
     }
 }
\ No newline at end of file
@@ -1,34 +1,62 @@
 package ru.practicum.shareit.item;
 
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequiredArgsConstructor
 @Slf4j
 @Validated
 @RequestMapping("/items")
 public class ItemController {
+    private static final int MAX_IMPORT_SIZE = 5000;
+
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(
+    public Mono<ResponseEntity<Object>> createItem(
             @RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
             @Valid @RequestBody NewItemRequest request) {
         log.info("Создание вещи для пользователя ID {}: {}", userId, request);
         return itemClient.createItem(userId, request);
     }
 
+    @PostMapping(path = "/bulk", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<Flux<String>>> importItems(
+            @RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
+            @RequestBody @NotEmpty(message = "Список вещей не может быть пустым")
+            @Size(max = MAX_IMPORT_SIZE, message = "Слишком много вещей в одном запросе")
+            List<NewItemRequest> requests) {
+        log.info("Пакетное создание {} вещей для пользователя ID {}", requests.size(), userId);
+        return itemClient.importItems(userId, requests);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(
+    public Mono<ResponseEntity<Object>> updateItem(
             @RequestHeader("X-Sharer-User-Id") @NotNull Long userId,
             @PathVariable Long itemId,
             @Valid @RequestBody UpdateItemRequest request) {
@@ -37,7 +65,7 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(
+    public Mono<ResponseEntity<Object>> getItemById(
             @PathVariable Long itemId,
             @RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Получение вещи ID {} пользователем ID {}", itemId, userId);
@@ -45,26 +73,56 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserItems(
+    public Mono<ResponseEntity<Object>> getUserItems(
             @RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Получение всех вещей пользователя ID {}", userId);
         return itemClient.getUserItems(userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(
+    public Mono<ResponseEntity<Object>> searchItems(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(required = false) String text,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+            @Positive @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Поиск вещей по тексту '{}' для пользователя ID {}, from={}, size={}", text, userId, from, size);
+        return itemClient.searchItems(userId, text, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<Object>> suggestItems(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @RequestParam(required = false) String text) {
-        log.info("Поиск вещей по тексту '{}' для пользователя ID {}", text, userId);
-        return itemClient.searchItems(userId, text);
+            @RequestParam(required = false) String text,
+            @Positive @Max(50) @RequestParam(defaultValue = "10") Integer size) {
+        log.debug("Подсказки по названию '{}' для пользователя ID {}", text, userId);
+        return itemClient.suggestItems(userId, text, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getItemAvailability(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Получение занятости вещи ID {} с {} по {} пользователем ID {}", itemId, from, to, userId);
+        return itemClient.getItemAvailability(userId, itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(
+    public Mono<ResponseEntity<Object>> addComment(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long itemId,
             @Valid @RequestBody CommentDto commentDto) {
         log.info("Добавление комментария к вещи ID {} пользователем ID {}", itemId, userId);
         return itemClient.addComment(userId, itemId, commentDto);
     }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleConstraintViolationException(ConstraintViolationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation -> errors.put("error",
+                "Validation failed for field: " + violation.getPropertyPath() + ". " + violation.getMessage()));
+        return errors;
+    }
 }
\ No newline at end of file
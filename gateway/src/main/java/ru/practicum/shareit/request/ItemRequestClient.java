@@ -4,10 +4,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.GatewayResponseCache.Region;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 
 import java.util.Map;
@@ -16,29 +19,34 @@ import java.util.Map;
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
+    private final GatewayResponseCache responseCache;
+
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             WebClient.Builder webClientBuilder, GatewayResponseCache responseCache) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build()
+                .build(),
+                webClientBuilder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> createRequest(long userId, ItemRequestRequest request) {
-        return post("", userId, request);
+    public Mono<ResponseEntity<Object>> createRequest(long userId, ItemRequestRequest request) {
+        return responseCache.evictAllAfter(post("", userId, request), Region.REQUESTS);
     }
 
-    public ResponseEntity<Object> getUserRequests(long userId) {
+    public Mono<ResponseEntity<Object>> getUserRequests(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getOtherUsersRequests(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getOtherUsersRequests(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of("from", from, "size", size);
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return responseCache.get(Region.REQUESTS, "/all?from=" + from + "&size=" + size, userId,
+                () -> get("/all?from={from}&size={size}", userId, parameters));
     }
 
-    public ResponseEntity<Object> getRequestById(long userId, Long requestId) {
+    public Mono<ResponseEntity<Object>> getRequestById(long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 
 import java.util.HashMap;
@@ -25,7 +26,7 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createRequest(
+    public Mono<ResponseEntity<Object>> createRequest(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @Valid @RequestBody ItemRequestRequest request) {
         log.info("Создание запроса пользователем ID {}", userId);
@@ -33,14 +34,14 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserRequests(
+    public Mono<ResponseEntity<Object>> getUserRequests(
             @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Получение запросов пользователя ID {}", userId);
         return itemRequestClient.getUserRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getOtherUsersRequests(
+    public Mono<ResponseEntity<Object>> getOtherUsersRequests(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
             @Positive @RequestParam(defaultValue = "10") Integer size) {
@@ -49,7 +50,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequestById(
+    public Mono<ResponseEntity<Object>> getRequestById(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable Long requestId) {
         log.info("Получение запроса ID {} пользователем ID {}", requestId, userId);
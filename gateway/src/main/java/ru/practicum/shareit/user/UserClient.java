@@ -4,10 +4,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.GatewayResponseCache.Region;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 
@@ -15,32 +18,38 @@ import ru.practicum.shareit.user.dto.UpdateUserRequest;
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
+    private final GatewayResponseCache responseCache;
+
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      WebClient.Builder webClientBuilder, GatewayResponseCache responseCache) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build()
+                .build(),
+                webClientBuilder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> createUser(NewUserRequest request) {
+    public Mono<ResponseEntity<Object>> createUser(NewUserRequest request) {
         return post("", request);
     }
 
-    public ResponseEntity<Object> updateUser(long userId, UpdateUserRequest request) {
-        return patch("/" + userId, request);
+    public Mono<ResponseEntity<Object>> updateUser(long userId, UpdateUserRequest request) {
+        return responseCache.evictAllAfter(responseCache.evictAfter(patch("/" + userId, request),
+                Region.USERS, "/" + userId), Region.ITEMS);
     }
 
-    public ResponseEntity<Object> getUserById(long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<Object>> getUserById(long userId) {
+        return responseCache.get(Region.USERS, "/" + userId, null, () -> get("/" + userId));
     }
 
-    public ResponseEntity<Object> deleteUser(long userId) {
-        return delete("/" + userId);
+    public Mono<ResponseEntity<Object>> deleteUser(long userId) {
+        return responseCache.evictAllAfter(responseCache.evictAfter(delete("/" + userId),
+                Region.USERS, "/" + userId), Region.ITEMS, Region.REQUESTS);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         return get("");
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.user.UserClient;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = "shareit-server.transport=reactive")
+class ShareItGatewayReactiveTransportTest {
+
+    @Autowired
+    private ClientHttpConnector serverHttpConnector;
+
+    @Autowired
+    private UserClient userClient;
+
+    @Autowired
+    private BookingClient bookingClient;
+
+    @Test
+    void contextLoads_withReactiveClientsOnSharedConnector() {
+        assertNotNull(serverHttpConnector);
+        assertNotNull(ReflectionTestUtils.getField(userClient, "webClient"));
+        assertNotNull(ReflectionTestUtils.getField(bookingClient, "webClient"));
+    }
+}
@@ -3,17 +3,21 @@ package ru.practicum.shareit.booking;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 
 import java.time.LocalDateTime;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
-@RestClientTest(BookingClient.class)
+@RestClientTest({BookingClient.class, GatewayResponseCache.class})
 class BookingClientTest {
 
     @Autowired
@@ -31,7 +35,7 @@ class BookingClientTest {
                 .andExpect(header("X-Sharer-User-Id", "1"))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        bookingClient.getBookings(1L, "ALL", 0, 10);
+        bookingClient.getBookings(1L, "ALL", 0, 10).block();
 
         server.verify();
     }
@@ -51,7 +55,7 @@ class BookingClientTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        bookingClient.bookItem(1L, request);
+        bookingClient.bookItem(1L, request).block();
 
         server.verify();
     }
@@ -65,7 +69,7 @@ class BookingClientTest {
                 .andExpect(header("X-Sharer-User-Id", "1"))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        bookingClient.getBooking(1L, 1L);
+        bookingClient.getBooking(1L, 1L).block();
 
         server.verify();
     }
@@ -79,7 +83,7 @@ class BookingClientTest {
                 .andExpect(header("X-Sharer-User-Id", "1"))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        bookingClient.approveBooking(1L, 1L, true);
+        bookingClient.approveBooking(1L, 1L, true).block();
 
         server.verify();
     }
@@ -93,7 +97,7 @@ class BookingClientTest {
                 .andExpect(header("X-Sharer-User-Id", "1"))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        bookingClient.getOwnerBookings(1L, "ALL", 0, 10);
+        bookingClient.getOwnerBookings(1L, "ALL", 0, 10).block();
 
         server.verify();
     }
@@ -110,7 +114,7 @@ class BookingClientTest {
         }
 
         for (String state : states) {
-            bookingClient.getBookings(1L, state, 0, 5);
+            bookingClient.getBookings(1L, state, 0, 5).block();
         }
 
         server.verify();
@@ -123,7 +127,7 @@ class BookingClientTest {
                 .andExpect(header("X-Sharer-User-Id", "1"))
                 .andRespond(withBadRequest());
 
-        bookingClient.getBookings(1L, "INVALID", 0, 10);
+        bookingClient.getBookings(1L, "INVALID", 0, 10).block();
 
         server.verify();
     }
@@ -137,7 +141,49 @@ class BookingClientTest {
                 .andExpect(header("X-Sharer-User-Id", "1"))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        bookingClient.approveBooking(1L, 1L, false);
+        bookingClient.approveBooking(1L, 1L, false).block();
+
+        server.verify();
+    }
+
+    @Test
+    void scrollBookings_shouldSendCursorAndPassNextCursorThrough() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "next");
+
+        server.expect(requestTo("http://localhost:9090/bookings?state=ALL&cursor=abc&size=10"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = bookingClient.scrollBookings(1L, "ALL", "abc", 10).block();
+
+        server.verify();
+        assertEquals("next", response.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
+    @Test
+    void scrollOwnerBookings_shouldSendEmptyCursorForFirstPage() {
+        server.expect(requestTo("http://localhost:9090/bookings/owner-bookings?state=ALL&cursor=&size=10"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        bookingClient.scrollOwnerBookings(1L, "ALL", "", 10).block();
+
+        server.verify();
+    }
+
+    @Test
+    void getAvailability_shouldSendItemAndRange() {
+        server.expect(requestTo("http://localhost:9090/bookings/availability?itemId=1"
+                        + "&start=2030-01-01T10%3A00&end=2030-01-02T10%3A00"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{\"itemId\":1,\"available\":true}", MediaType.APPLICATION_JSON));
+
+        bookingClient.getAvailability(1L, 1L,
+                LocalDateTime.of(2030, 1, 1, 10, 0), LocalDateTime.of(2030, 1, 2, 10, 0)).block();
 
         server.verify();
     }
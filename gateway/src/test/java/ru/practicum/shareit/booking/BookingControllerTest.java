@@ -5,12 +5,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 
 import java.time.LocalDateTime;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,9 +34,9 @@ class BookingControllerTest {
     @Test
     void getBookings_shouldReturnOk() throws Exception {
         when(bookingClient.getBookings(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/bookings")
+        performAsync(get("/bookings")
                         .header("X-Sharer-User-Id", 1L)
                         .param("state", "ALL")
                         .param("from", "0")
@@ -37,6 +44,24 @@ class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getBookings_withRawServerBody_shouldWriteBytesUnchanged() throws Exception {
+        String serverBody = "[{\"id\":1,\"status\":\"WAITING\"}]";
+        when(bookingClient.getBookings(anyLong(), anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Next-Cursor", "abc")
+                        .body(serverBody.getBytes(java.nio.charset.StandardCharsets.UTF_8))));
+
+        performAsync(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(serverBody))
+                .andExpect(header().string("X-Next-Cursor", "abc"))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
     @Test
     void getBookings_withInvalidState_shouldReturnBadRequest() throws Exception {
         mockMvc.perform(get("/bookings")
@@ -48,9 +73,9 @@ class BookingControllerTest {
     @Test
     void getOwnerBookings_shouldReturnOk() throws Exception {
         when(bookingClient.getOwnerBookings(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/bookings/owner")
+        performAsync(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L)
                         .param("state", "ALL")
                         .param("from", "0")
@@ -66,7 +91,7 @@ class BookingControllerTest {
         requestDto.setEnd(LocalDateTime.now().plusDays(2));
 
         when(bookingClient.bookItem(anyLong(), any(BookItemRequestDto.class)))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
         LocalDateTime start = LocalDateTime.now().plusDays(1);
         LocalDateTime end = LocalDateTime.now().plusDays(2);
@@ -74,7 +99,7 @@ class BookingControllerTest {
         String jsonContent = String.format("{\"itemId\":1,\"start\":\"%s\",\"end\":\"%s\"}",
                 start.toString(), end.toString());
 
-        mockMvc.perform(post("/bookings")
+        performAsync(post("/bookings")
                         .header("X-Sharer-User-Id", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(jsonContent))
@@ -93,9 +118,9 @@ class BookingControllerTest {
     @Test
     void getBooking_shouldReturnOk() throws Exception {
         when(bookingClient.getBooking(anyLong(), anyLong()))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/bookings/1")
+        performAsync(get("/bookings/1")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
     }
@@ -103,11 +128,63 @@ class BookingControllerTest {
     @Test
     void approveBooking_shouldReturnOk() throws Exception {
         when(bookingClient.approveBooking(anyLong(), anyLong(), anyBoolean()))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(patch("/bookings/1")
+        performAsync(patch("/bookings/1")
                         .header("X-Sharer-User-Id", 1L)
                         .param("approved", "true"))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookings_withCursor_shouldUseKeysetPagination() throws Exception {
+        when(bookingClient.scrollBookings(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        performAsync(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("cursor", "abc")
+                        .param("size", "10"))
+                .andExpect(status().isOk());
+
+        verify(bookingClient).scrollBookings(1L, "ALL", "abc", 10);
+        verify(bookingClient, never()).getBookings(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getOwnerBookings_withCursor_shouldUseKeysetPagination() throws Exception {
+        when(bookingClient.scrollOwnerBookings(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        performAsync(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "WAITING")
+                        .param("cursor", ""))
+                .andExpect(status().isOk());
+
+        verify(bookingClient).scrollOwnerBookings(1L, "WAITING", "", 10);
+    }
+
+    @Test
+    void getAvailability_shouldPassParsedDates() throws Exception {
+        when(bookingClient.getAvailability(anyLong(), anyLong(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        performAsync(get("/bookings/availability")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("itemId", "1")
+                        .param("start", "2030-01-01T10:00:00")
+                        .param("end", "2030-01-02T10:00:00"))
+                .andExpect(status().isOk());
+
+        verify(bookingClient).getAvailability(1L, 1L,
+                LocalDateTime.of(2030, 1, 1, 10, 0), LocalDateTime.of(2030, 1, 2, 10, 0));
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
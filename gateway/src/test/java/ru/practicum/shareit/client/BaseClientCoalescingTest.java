@@ -0,0 +1,150 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+class BaseClientCoalescingTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void concurrentIdenticalReads_shouldShareOneUpstreamCall() {
+        BaseClient client = reactiveClient(slowServer());
+
+        List<ResponseEntity<Object>> responses = Flux.range(0, 200)
+                .flatMap(i -> client.get("/search?text={text}", 1L, Map.of("text", "дрель")), 200)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(200, responses.size());
+        assertEquals(1, upstreamCalls.get());
+        assertTrue(responses.stream().allMatch(response -> response == responses.get(0)));
+    }
+
+    @Test
+    void concurrentReads_shouldNotShareAcrossUsersOrParameters() {
+        BaseClient client = reactiveClient(slowServer());
+
+        Flux.merge(
+                        client.get("/search?text={text}", 1L, Map.of("text", "дрель")),
+                        client.get("/search?text={text}", 2L, Map.of("text", "дрель")),
+                        client.get("/search?text={text}", 1L, Map.of("text", "пила")),
+                        client.get("/search?text={text}", 1L, Map.of("text", "дрель")))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void sequentialReads_shouldEachReachServer() {
+        BaseClient client = reactiveClient(slowServer());
+
+        client.get("/1", 1L).block();
+        client.get("/1", 1L).block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void failedRead_shouldNotBeReusedByLaterReads() {
+        BaseClient client = reactiveClient(request -> upstreamCalls.incrementAndGet() == 1
+                ? Mono.error(new IllegalStateException("Сервер недоступен"))
+                : Mono.just(ClientResponse.create(HttpStatus.OK).body("{}").build()));
+
+        assertThrows(IllegalStateException.class, () -> client.get("/1", 1L).block());
+        ResponseEntity<Object> retried = client.get("/1", 1L).block();
+
+        assertEquals(HttpStatus.OK, retried.getStatusCode());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void coalescingDisabled_shouldSendEveryRead() {
+        BaseClient client = reactiveClient(slowServer());
+        ReflectionTestUtils.setField(client, "coalesceReads", false);
+
+        Flux.range(0, 5)
+                .flatMap(i -> client.get("/1", 1L))
+                .blockLast(Duration.ofSeconds(10));
+
+        assertEquals(5, upstreamCalls.get());
+    }
+
+    @Test
+    void blockingTransport_shouldShareOneUpstreamCallAcrossThreads() throws Exception {
+        int threads = 20;
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(ExpectedCount.once(), requestTo("/items/1"))
+                .andRespond(request -> {
+                    try {
+                        Thread.sleep(500);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).createResponse(request);
+                });
+        BaseClient client = new BaseClient(restTemplate);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<ResponseEntity<Object>>> reads = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                reads.add(executor.submit(() -> {
+                    start.await();
+                    return client.get("/items/1", 1L).block();
+                }));
+            }
+            start.countDown();
+            for (Future<ResponseEntity<Object>> read : reads) {
+                assertEquals(HttpStatus.OK, read.get().getStatusCode());
+            }
+        }
+
+        server.verify();
+    }
+
+    private ExchangeFunction slowServer() {
+        return request -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(200))
+                    .map(tick -> ClientResponse.create(HttpStatus.OK).body("{}").build());
+        };
+    }
+
+    private static BaseClient reactiveClient(ExchangeFunction exchangeFunction) {
+        BaseClient client = new BaseClient(new RestTemplate(), WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory("http://localhost:9090/items"))
+                .exchangeFunction(exchangeFunction));
+        ReflectionTestUtils.setField(client, "transport", BaseClient.TRANSPORT_REACTIVE);
+        client.initTransport();
+        return client;
+    }
+}
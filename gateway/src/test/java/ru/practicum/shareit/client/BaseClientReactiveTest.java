@@ -0,0 +1,152 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaseClientReactiveTest {
+
+    @Test
+    void reactiveTransport_shouldExpandUriAndForwardResponse() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        BaseClient client = reactiveClient(request -> {
+            sent.set(request);
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header("X-Next-Cursor", "abc")
+                    .header(HttpHeaders.CONNECTION, "keep-alive")
+                    .body("[{\"id\":1}]")
+                    .build());
+        });
+
+        ResponseEntity<Object> response = client.get("?state={state}", 7L, Map.of("state", "ALL")).block();
+
+        assertEquals("http://localhost:9090/bookings?state=ALL", sent.get().url().toString());
+        assertEquals(HttpMethod.GET, sent.get().method());
+        assertEquals("7", sent.get().headers().getFirst("X-Sharer-User-Id"));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("[{\"id\":1}]", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void reactiveTransport_shouldForwardErrorStatusWithoutThrowing() {
+        BaseClient client = reactiveClient(request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"error\":\"not found\"}")
+                .build()));
+
+        ResponseEntity<Object> response = client.get("/999", 1L).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("{\"error\":\"not found\"}", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void reactiveTransport_shouldHoldManySlowCallsWithoutThreadPerCall() {
+        int calls = 2000;
+        BaseClient client = reactiveClient(request -> Mono.delay(Duration.ofMillis(500))
+                .map(tick -> ClientResponse.create(HttpStatus.OK).body("{}").build()));
+
+        long started = System.nanoTime();
+        List<ResponseEntity<Object>> responses = Flux.range(0, calls)
+                .flatMap(i -> client.get("/" + i, 1L), calls)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertEquals(calls, responses.size());
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(10)) < 0, "Запросы выполнялись последовательно: " + elapsed);
+    }
+
+    @Test
+    void postForLines_shouldStreamServerLinesWithStatus() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        BaseClient client = reactiveClient(request -> {
+            sent.set(request);
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                    .body("{\"index\":0}\n{\"index\":1}\n")
+                    .build());
+        });
+
+        ResponseEntity<Flux<String>> response = client.postForLines("/bulk", 3L, List.of(Map.of("name", "Дрель")))
+                .block();
+
+        assertEquals("http://localhost:9090/bookings/bulk", sent.get().url().toString());
+        assertEquals("3", sent.get().headers().getFirst("X-Sharer-User-Id"));
+        assertTrue(sent.get().headers().getAccept().contains(MediaType.APPLICATION_NDJSON));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals(List.of("{\"index\":0}\n", "{\"index\":1}\n"), response.getBody().collectList().block());
+    }
+
+    @Test
+    void postForLines_shouldForwardErrorStatusWithoutThrowing() {
+        BaseClient client = reactiveClient(request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"error\":\"User not found\"}")
+                .build()));
+
+        ResponseEntity<Flux<String>> response = client.postForLines("/bulk", 3L, List.of()).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(List.of("{\"error\":\"User not found\"}\n"), response.getBody().collectList().block());
+    }
+
+    @Test
+    void blockingTransport_shouldStreamLinesThroughWebClient() {
+        BaseClient client = new BaseClient(new RestTemplate(), WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .body("{\"index\":0}\n")
+                        .build())));
+        client.initTransport();
+
+        ResponseEntity<Flux<String>> response = client.postForLines("/bulk", 1L, List.of()).block();
+
+        assertEquals(List.of("{\"index\":0}\n"), response.getBody().collectList().block());
+        assertThrows(IllegalStateException.class, () -> new BaseClient(new RestTemplate())
+                .postForLines("/bulk", 1L, List.of())
+                .block());
+    }
+
+    @Test
+    void blockingTransport_shouldNotUseWebClient() {
+        BaseClient client = new BaseClient(new RestTemplate(), WebClient.builder()
+                .exchangeFunction(request -> Mono.error(new IllegalStateException("WebClient не должен вызываться"))));
+        client.initTransport();
+
+        assertNull(ReflectionTestUtils.getField(client, "webClient"));
+    }
+
+    private static BaseClient reactiveClient(ExchangeFunction exchangeFunction) {
+        BaseClient client = new BaseClient(new RestTemplate(), WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory("http://localhost:9090/bookings"))
+                .exchangeFunction(exchangeFunction));
+        ReflectionTestUtils.setField(client, "transport", BaseClient.TRANSPORT_REACTIVE);
+        client.initTransport();
+        return client;
+    }
+}
@@ -4,16 +4,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.http.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import ru.practicum.shareit.user.UserClient;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
-@RestClientTest(UserClient.class)
+@RestClientTest(components = {UserClient.class, GatewayResponseCache.class},
+        properties = "shareit-server.cache.enabled=false")
 class BaseClientTest {
 
     @Autowired
@@ -35,7 +43,7 @@ class BaseClientTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        userClient.updateUser(1L, request);
+        userClient.updateUser(1L, request).block();
         server.verify();
     }
 
@@ -45,7 +53,7 @@ class BaseClientTest {
                 .andExpect(method(HttpMethod.DELETE))
                 .andRespond(withSuccess());
 
-        userClient.deleteUser(1L);
+        userClient.deleteUser(1L).block();
         server.verify();
     }
 
@@ -57,7 +65,7 @@ class BaseClientTest {
                 .andExpect(method(HttpMethod.GET))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        ResponseEntity<Object> response = userClient.getUserById(1L);
+        ResponseEntity<Object> response = userClient.getUserById(1L).block();
         assertNotNull(response);
     }
 
@@ -74,7 +82,7 @@ class BaseClientTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        ResponseEntity<Object> response = userClient.createUser(request);
+        ResponseEntity<Object> response = userClient.createUser(request).block();
         assertNotNull(response);
     }
 
@@ -88,7 +96,7 @@ class BaseClientTest {
 
         ru.practicum.shareit.user.dto.UpdateUserRequest request = new ru.practicum.shareit.user.dto.UpdateUserRequest();
         request.setName("Test");
-        ResponseEntity<Object> response = userClient.updateUser(1L, request);
+        ResponseEntity<Object> response = userClient.updateUser(1L, request).block();
         assertNotNull(response);
     }
 
@@ -100,7 +108,7 @@ class BaseClientTest {
                         .body("User not found")
                         .contentType(MediaType.APPLICATION_JSON));
 
-        ResponseEntity<Object> response = userClient.getUserById(999L);
+        ResponseEntity<Object> response = userClient.getUserById(999L).block();
         assertNotNull(response);
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
@@ -114,7 +122,7 @@ class BaseClientTest {
                 .andExpect(headerDoesNotExist("X-Sharer-User-Id"))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        ResponseEntity<Object> response = userClient.getAllUsers();
+        ResponseEntity<Object> response = userClient.getAllUsers().block();
         assertNotNull(response);
     }
 
@@ -126,9 +134,115 @@ class BaseClientTest {
                         .body("{\"error\":\"Invalid request\"}")
                         .contentType(MediaType.APPLICATION_JSON));
 
-        ResponseEntity<Object> response = userClient.getUserById(999L);
+        ResponseEntity<Object> response = userClient.getUserById(999L).block();
         assertNotNull(response);
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertNotNull(response.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    void passThrough_shouldForwardServerBytesAndHeaders() {
+        String responseBody = "{\"id\":1,\"name\":\"Test User\"}";
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.set("X-Next-Cursor", "abc");
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON).headers(serverHeaders));
+
+        ResponseEntity<Object> response = userClient.getUserById(1L).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(responseBody.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void passThrough_withErrorStatus_shouldKeepContentType() {
+        server.expect(requestTo("http://localhost:9090/users/999"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .body("{\"error\":\"not found\"}")
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = userClient.getUserById(999L).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("{\"error\":\"not found\"}", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void passThroughDisabled_shouldDeserializeBody() {
+        ReflectionTestUtils.setField(userClient, "passThrough", false);
+        try {
+            server.expect(requestTo("http://localhost:9090/users/1"))
+                    .andRespond(withSuccess("{\"id\":1,\"name\":\"Test User\"}", MediaType.APPLICATION_JSON));
+
+            ResponseEntity<Object> response = userClient.getUserById(1L).block();
+
+            assertEquals(Map.of("id", 1, "name", "Test User"), response.getBody());
+        } finally {
+            ReflectionTestUtils.setField(userClient, "passThrough", true);
+        }
+    }
+
+    @Test
+    void get_shouldForwardIfNoneMatchAndPassNotModifiedThrough() {
+        MockHttpServletRequest incoming = new MockHttpServletRequest();
+        incoming.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+        try {
+            server.expect(requestTo("http://localhost:9090/users/1"))
+                    .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                    .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"v1\""));
+
+            ResponseEntity<Object> response = userClient.getUserById(1L).block();
+
+            assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+            assertEquals("\"v1\"", response.getHeaders().getETag());
+            server.verify();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void write_shouldNotForwardIfNoneMatch() {
+        MockHttpServletRequest incoming = new MockHttpServletRequest();
+        incoming.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+        try {
+            server.expect(requestTo("http://localhost:9090/users/1"))
+                    .andExpect(method(HttpMethod.DELETE))
+                    .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                    .andRespond(withSuccess());
+
+            userClient.deleteUser(1L).block();
+            server.verify();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void patch_shouldForwardIfMatch() {
+        MockHttpServletRequest incoming = new MockHttpServletRequest();
+        incoming.addHeader(HttpHeaders.IF_MATCH, "\"v1\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+        try {
+            server.expect(requestTo("http://localhost:9090/users/1"))
+                    .andExpect(method(HttpMethod.PATCH))
+                    .andExpect(header(HttpHeaders.IF_MATCH, "\"v1\""))
+                    .andRespond(withStatus(HttpStatus.PRECONDITION_FAILED));
+
+            ResponseEntity<Object> response = userClient.updateUser(1L, new UpdateUserRequest()).block();
+
+            assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+            server.verify();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
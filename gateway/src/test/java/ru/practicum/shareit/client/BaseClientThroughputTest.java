@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+@Slf4j
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class BaseClientThroughputTest {
+    private static final int ROWS = 1000;
+    private static final int ITERATIONS = 2000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void passThroughVersusDeserializingProxy() throws IOException {
+        String body = bookingList();
+
+        double objectRate = requestsPerSecond(body, false);
+        double passThroughRate = requestsPerSecond(body, true);
+
+        log.info("Список из {} бронирований ({} КБ): object {} запр/с, pass-through {} запр/с",
+                ROWS, body.length() / 1024, Math.round(objectRate), Math.round(passThroughRate));
+        assertTrue(objectRate > 0 && passThroughRate > 0);
+    }
+
+    private double requestsPerSecond(String body, boolean passThrough) throws IOException {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(ExpectedCount.manyTimes(), requestTo("/bookings"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+        BaseClient client = new BaseClient(restTemplate);
+        ReflectionTestUtils.setField(client, "passThrough", passThrough);
+
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            writeToGatewayClient(client.get("/bookings", 1L).block());
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            writeToGatewayClient(client.get("/bookings", 1L).block());
+        }
+        return ITERATIONS / ((System.nanoTime() - started) / 1_000_000_000.0);
+    }
+
+    private void writeToGatewayClient(ResponseEntity<Object> response) throws IOException {
+        if (response.getBody() instanceof byte[] bytes) {
+            OutputStream.nullOutputStream().write(bytes);
+        } else {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), response.getBody());
+        }
+    }
+
+    private static String bookingList() {
+        StringJoiner rows = new StringJoiner(",", "[", "]");
+        for (int i = 1; i <= ROWS; i++) {
+            rows.add("{\"id\":" + i + ",\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\","
+                    + "\"status\":\"APPROVED\",\"booker\":{\"id\":" + i + ",\"name\":\"Арендатор " + i
+                    + "\",\"email\":\"booker" + i + "@email.com\"},\"item\":{\"id\":" + i
+                    + ",\"name\":\"Дрель " + i + "\",\"description\":\"Мощная дрель\",\"available\":true,"
+                    + "\"owner\":1,\"requestId\":null,\"lastBooking\":null,\"nextBooking\":null,\"comments\":null}}");
+        }
+        return rows.toString();
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.client.GatewayResponseCache.Region;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayResponseCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<Mono<ResponseEntity<Object>>> loader = () -> Mono.fromCallable(() ->
+            ResponseEntity.ok("load-" + loads.incrementAndGet()));
+
+    @Test
+    void get_shouldLoadOncePerResourceAndUser() {
+        GatewayResponseCache cache = new GatewayResponseCache(true, 100, Duration.ofMinutes(1));
+
+        cache.get(Region.ITEMS, "/1", 1L, loader).block();
+        cache.get(Region.ITEMS, "/1", 1L, loader).block();
+        cache.get(Region.ITEMS, "/1", 2L, loader).block();
+        cache.get(Region.ITEMS, "/2", 1L, loader).block();
+
+        assertEquals(3, loads.get());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void evict_shouldDropResourceForAllUsersOnly() {
+        GatewayResponseCache cache = new GatewayResponseCache(true, 100, Duration.ofMinutes(1));
+        cache.get(Region.ITEMS, "/1", 1L, loader).block();
+        cache.get(Region.ITEMS, "/1", 2L, loader).block();
+        cache.get(Region.ITEMS, "/2", 1L, loader).block();
+        cache.get(Region.USERS, "/1", null, loader).block();
+
+        cache.evict(Region.ITEMS, "/1");
+
+        assertEquals(2, cache.size());
+        cache.get(Region.ITEMS, "/2", 1L, loader).block();
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void evictAllAfter_shouldEvictRegionWhenWriteCompletes() {
+        GatewayResponseCache cache = new GatewayResponseCache(true, 100, Duration.ofMinutes(1));
+        cache.get(Region.REQUESTS, "/all?from=0&size=10", 1L, loader).block();
+        Sinks.One<ResponseEntity<Object>> write = Sinks.one();
+
+        Mono<ResponseEntity<Object>> evicting = cache.evictAllAfter(write.asMono(), Region.REQUESTS);
+        evicting.subscribe();
+        assertEquals(1, cache.size());
+
+        write.tryEmitValue(ResponseEntity.ok("created"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_shouldNotStoreResponseLoadedBeforeEviction() {
+        GatewayResponseCache cache = new GatewayResponseCache(true, 100, Duration.ofMinutes(1));
+        Sinks.One<ResponseEntity<Object>> slowLoad = Sinks.one();
+
+        Mono<ResponseEntity<Object>> read = cache.get(Region.USERS, "/1", null, slowLoad::asMono);
+        read.subscribe();
+        cache.evict(Region.USERS, "/1");
+        slowLoad.tryEmitValue(ResponseEntity.ok("stale"));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_shouldAnswerNotModifiedWhenCachedETagMatches() {
+        GatewayResponseCache cache = new GatewayResponseCache(true, 100, Duration.ofMinutes(1));
+        Supplier<Mono<ResponseEntity<Object>>> taggedLoader = () -> Mono.fromCallable(() ->
+                ResponseEntity.ok().eTag("\"v" + loads.incrementAndGet() + "\"").body("user"));
+        cache.get(Region.USERS, "/1", null, taggedLoader).block();
+
+        MockHttpServletRequest incoming = new MockHttpServletRequest();
+        incoming.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v0\", W/\"v1\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+        try {
+            ResponseEntity<Object> response = cache.get(Region.USERS, "/1", null, taggedLoader).block();
+
+            assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+            assertEquals("\"v1\"", response.getHeaders().getETag());
+            assertNull(response.getBody());
+            assertEquals(1, loads.get());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void get_shouldReturnCachedBodyWhenETagDiffers() {
+        GatewayResponseCache cache = new GatewayResponseCache(true, 100, Duration.ofMinutes(1));
+        Supplier<Mono<ResponseEntity<Object>>> taggedLoader = () -> Mono.fromCallable(() ->
+                ResponseEntity.ok().eTag("\"v" + loads.incrementAndGet() + "\"").body("user"));
+        cache.get(Region.USERS, "/1", null, taggedLoader).block();
+
+        MockHttpServletRequest incoming = new MockHttpServletRequest();
+        incoming.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v0\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+        try {
+            ResponseEntity<Object> response = cache.get(Region.USERS, "/1", null, taggedLoader).block();
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals("user", response.getBody());
+            assertEquals(1, loads.get());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void get_shouldSkipCacheWhenDisabled() {
+        GatewayResponseCache cache = new GatewayResponseCache(false, 100, Duration.ofMinutes(1));
+
+        cache.get(Region.USERS, "/1", null, loader).block();
+        cache.get(Region.USERS, "/1", null, loader).block();
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void bindTo_shouldReportHitsAndMisses() {
+        GatewayResponseCache cache = new GatewayResponseCache(true, 100, Duration.ofMinutes(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(Region.USERS, "/1", null, loader).block();
+        cache.get(Region.USERS, "/1", null, loader).block();
+        cache.get(Region.USERS, "/1", null, loader).block();
+
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", GatewayResponseCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", GatewayResponseCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count());
+    }
+}
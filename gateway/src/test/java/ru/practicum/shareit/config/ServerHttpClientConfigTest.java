@@ -0,0 +1,98 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerHttpClientConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ServerHttpClientConfig.class);
+
+    @Test
+    void connectionManager_shouldUsePoolLimitsFromProperties() {
+        contextRunner
+                .withPropertyValues("shareit-server.http.max-total=40", "shareit-server.http.max-per-route=10")
+                .run(context -> {
+                    PoolingHttpClientConnectionManager connectionManager =
+                            context.getBean(PoolingHttpClientConnectionManager.class);
+
+                    assertEquals(40, connectionManager.getMaxTotal());
+                    assertEquals(10, connectionManager.getDefaultMaxPerRoute());
+                });
+    }
+
+    @Test
+    void customizer_shouldShareOneRequestFactoryAcrossClients() {
+        contextRunner.run(context -> {
+            RestTemplateCustomizer customizer = context.getBean(RestTemplateCustomizer.class);
+
+            RestTemplate bookings = new RestTemplateBuilder(customizer).build();
+            RestTemplate items = new RestTemplateBuilder(customizer).build();
+
+            assertSame(bookings.getRequestFactory(), items.getRequestFactory());
+        });
+    }
+
+    @Test
+    void poolMetrics_shouldReportPoolState() {
+        contextRunner.withPropertyValues("shareit-server.http.max-total=25").run(context -> {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean(MeterBinder.class).bindTo(registry);
+
+            assertEquals(25.0, registry.get(ServerHttpClientConfig.POOL_METRIC_PREFIX + "max").gauge().value());
+            assertEquals(0.0, registry.get(ServerHttpClientConfig.POOL_METRIC_PREFIX + "leased").gauge().value());
+            assertEquals(0.0, registry.get(ServerHttpClientConfig.POOL_METRIC_PREFIX + "pending").gauge().value());
+            assertEquals(0.0, registry.get(ServerHttpClientConfig.POOL_METRIC_PREFIX + "available").gauge().value());
+        });
+    }
+
+    @Test
+    void blockingTransport_shouldStillGiveWebClientsTheAsyncPool() {
+        contextRunner
+                .withUserConfiguration(ServerReactiveHttpClientConfig.class)
+                .withPropertyValues("shareit-server.http.max-total=20")
+                .run(context -> {
+                    ClientHttpConnector connector = context.getBean(ClientHttpConnector.class);
+                    WebClient.Builder builder = WebClient.builder();
+                    context.getBean(WebClientCustomizer.class).customize(builder);
+                    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                    context.getBeansOfType(MeterBinder.class).values().forEach(binder -> binder.bindTo(registry));
+
+                    assertSame(connector, ReflectionTestUtils.getField(builder, "connector"));
+                    assertEquals(20.0, registry.get(ServerHttpClientConfig.POOL_METRIC_PREFIX + "max")
+                            .tag("transport", "reactive").gauge().value());
+                });
+    }
+
+    @Test
+    void reactiveTransport_shouldShareAsyncPoolWithWebClients() {
+        contextRunner
+                .withUserConfiguration(ServerReactiveHttpClientConfig.class)
+                .withPropertyValues("shareit-server.transport=reactive", "shareit-server.http.max-total=30")
+                .run(context -> {
+                    ClientHttpConnector connector = context.getBean(ClientHttpConnector.class);
+                    WebClient.Builder builder = WebClient.builder();
+                    context.getBean(WebClientCustomizer.class).customize(builder);
+                    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                    context.getBeansOfType(MeterBinder.class).values().forEach(binder -> binder.bindTo(registry));
+
+                    assertSame(connector, ReflectionTestUtils.getField(builder, "connector"));
+                    assertEquals(30.0, registry.get(ServerHttpClientConfig.POOL_METRIC_PREFIX + "max")
+                            .tag("transport", "reactive").gauge().value());
+                    assertEquals(30.0, registry.get(ServerHttpClientConfig.POOL_METRIC_PREFIX + "max")
+                            .tag("transport", "blocking").gauge().value());
+                });
+    }
+}
@@ -5,15 +5,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
-@RestClientTest(ItemClient.class)
+@RestClientTest({ItemClient.class, GatewayResponseCache.class})
 public class ItemClientTest {
 
     @Autowired
@@ -37,7 +43,7 @@ public class ItemClientTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        itemClient.createItem(1L, request);
+        itemClient.createItem(1L, request).block();
 
         server.verify();
     }
@@ -51,7 +57,7 @@ public class ItemClientTest {
                 .andExpect(header("X-Sharer-User-Id", "1"))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        itemClient.getItemById(1L, 1L);
+        itemClient.getItemById(1L, 1L).block();
 
         server.verify();
     }
@@ -69,7 +75,7 @@ public class ItemClientTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        itemClient.updateItem(1L, 1L, request);
+        itemClient.updateItem(1L, 1L, request).block();
 
         server.verify();
     }
@@ -83,7 +89,7 @@ public class ItemClientTest {
                 .andExpect(header("X-Sharer-User-Id", "1"))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        itemClient.getUserItems(1L);
+        itemClient.getUserItems(1L).block();
 
         server.verify();
     }
@@ -92,12 +98,40 @@ public class ItemClientTest {
     void searchItems_shouldSendCorrectRequest() {
         String responseBody = "[{\"id\":1,\"name\":\"Drill\"}]";
 
-        server.expect(requestTo("http://localhost:9090/items/search?text=drill"))
+        server.expect(requestTo("http://localhost:9090/items/search?text=drill&from=0&size=10"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
+
+        itemClient.searchItems(1L, "drill", 0, 10).block();
+
+        server.verify();
+    }
+
+    @Test
+    void getItemAvailability_shouldSendRange() {
+        server.expect(requestTo("http://localhost:9090/items/1/availability"
+                        + "?from=2030-01-01T00%3A00&to=2030-02-01T00%3A00"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{\"itemId\":1,\"busy\":[]}", MediaType.APPLICATION_JSON));
+
+        itemClient.getItemAvailability(1L, 1L,
+                LocalDateTime.of(2030, 1, 1, 0, 0), LocalDateTime.of(2030, 2, 1, 0, 0)).block();
+
+        server.verify();
+    }
+
+    @Test
+    void suggestItems_shouldSendCorrectRequest() {
+        String responseBody = "[{\"id\":1,\"name\":\"Drill\"}]";
+
+        server.expect(requestTo("http://localhost:9090/items/suggest?text=dri&size=5"))
                 .andExpect(method(HttpMethod.GET))
                 .andExpect(header("X-Sharer-User-Id", "1"))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        itemClient.searchItems(1L, "drill");
+        itemClient.suggestItems(1L, "dri", 5).block();
 
         server.verify();
     }
@@ -116,8 +150,59 @@ public class ItemClientTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        itemClient.addComment(1L, 1L, commentDto);
+        itemClient.addComment(1L, 1L, commentDto).block();
+
+        server.verify();
+    }
+
+    @Test
+    void getItemById_shouldServeRepeatedReadsFromCachePerUser() {
+        server.expect(requestTo("http://localhost:9090/items/7"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{\"id\":7,\"lastBooking\":{\"id\":3}}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://localhost:9090/items/7"))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andRespond(withSuccess("{\"id\":7}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> first = itemClient.getItemById(1L, 7L).block();
+        ResponseEntity<Object> repeated = itemClient.getItemById(1L, 7L).block();
+        ResponseEntity<Object> otherUser = itemClient.getItemById(2L, 7L).block();
+
+        server.verify();
+        assertSame(first, repeated);
+        assertNotSame(first, otherUser);
+    }
+
+    @Test
+    void updateItem_shouldEvictCachedItem() {
+        server.expect(requestTo("http://localhost:9090/items/8"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"id\":8,\"name\":\"Drill\"}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://localhost:9090/items/8"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\":8,\"name\":\"Saw\"}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://localhost:9090/items/8"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"id\":8,\"name\":\"Saw\"}", MediaType.APPLICATION_JSON));
+        UpdateItemRequest request = new UpdateItemRequest();
+        request.setName("Saw");
+
+        itemClient.getItemById(1L, 8L).block();
+        itemClient.getItemById(1L, 8L).block();
+        itemClient.updateItem(1L, 8L, request).block();
+        itemClient.getItemById(1L, 8L).block();
+
+        server.verify();
+    }
+
+    @Test
+    void getItemById_shouldNotCacheErrors() {
+        server.expect(ExpectedCount.twice(), requestTo("http://localhost:9090/items/9"))
+                .andRespond(withResourceNotFound());
+
+        itemClient.getItemById(1L, 9L).block();
+        itemClient.getItemById(1L, 9L).block();
 
         server.verify();
     }
-}
\ No newline at end of file
+}
@@ -5,12 +5,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.time.LocalDateTime;
+
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,9 +37,9 @@ class ItemControllerTest {
     @Test
     void createItem_shouldReturnOk() throws Exception {
         when(itemClient.createItem(anyLong(), any(NewItemRequest.class)))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(post("/items")
+        performAsync(post("/items")
                         .header("X-Sharer-User-Id", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"name\":\"Item\",\"description\":\"Description\",\"available\":true}"))
@@ -45,12 +55,43 @@ class ItemControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void importItems_shouldStreamServerLines() throws Exception {
+        when(itemClient.importItems(anyLong(), anyList()))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(Flux.just("{\"index\":0,\"status\":\"CREATED\"}\n",
+                                "{\"index\":1,\"status\":\"REJECTED\"}\n"))));
+
+        MvcResult result = performStreaming(post("/items/bulk")
+                .header("X-Sharer-User-Id", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\":\"Item\",\"description\":\"Description\",\"available\":true},"
+                        + "{\"name\":\"\"}]"));
+
+        status().isOk().match(result);
+        content().contentType(MediaType.APPLICATION_NDJSON).match(result);
+        content().string("{\"index\":0,\"status\":\"CREATED\"}\n"
+                + "{\"index\":1,\"status\":\"REJECTED\"}\n").match(result);
+    }
+
+    @Test
+    void importItems_withEmptyList_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).importItems(anyLong(), anyList());
+    }
+
     @Test
     void updateItem_shouldReturnOk() throws Exception {
         when(itemClient.updateItem(anyLong(), anyLong(), any(UpdateItemRequest.class)))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(patch("/items/1")
+        performAsync(patch("/items/1")
                         .header("X-Sharer-User-Id", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"name\":\"Updated Item\"}"))
@@ -60,13 +101,26 @@ class ItemControllerTest {
     @Test
     void getItemById_shouldReturnOk() throws Exception {
         when(itemClient.getItemById(anyLong(), anyLong()))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/items/1")
+        performAsync(get("/items/1")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getItemById_withMatchingIfNoneMatch_shouldReturnNotModified() throws Exception {
+        when(itemClient.getItemById(anyLong(), anyLong()))
+                .thenReturn(Mono.just(ResponseEntity.ok().eTag("\"v1\"").body((Object) "{\"id\":1}")));
+
+        performAsync(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("If-None-Match", "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"v1\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getItemById_withoutUserId_shouldReturnBadRequest() throws Exception {
         mockMvc.perform(get("/items/1"))
@@ -76,41 +130,81 @@ class ItemControllerTest {
     @Test
     void getUserItems_shouldReturnOk() throws Exception {
         when(itemClient.getUserItems(anyLong()))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/items")
+        performAsync(get("/items")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
     }
 
     @Test
     void searchItems_shouldReturnOk() throws Exception {
-        when(itemClient.searchItems(anyLong(), anyString()))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+        when(itemClient.searchItems(anyLong(), anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/items/search")
+        performAsync(get("/items/search")
                         .header("X-Sharer-User-Id", 1L)
                         .param("text", "drill"))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void searchItems_withPagination_shouldPassFromAndSize() throws Exception {
+        when(itemClient.searchItems(1L, "drill", 20, 5))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        performAsync(get("/items/search")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("text", "drill")
+                        .param("from", "20")
+                        .param("size", "5"))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void searchItems_withEmptyText_shouldReturnOk() throws Exception {
         // Используем anyString() вместо isNull()
-        when(itemClient.searchItems(anyLong(), anyString()))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+        when(itemClient.searchItems(anyLong(), anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
         mockMvc.perform(get("/items/search")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void suggestItems_shouldReturnOk() throws Exception {
+        when(itemClient.suggestItems(1L, "дре", 5))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        performAsync(get("/items/suggest")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("text", "дре")
+                        .param("size", "5"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getItemAvailability_shouldPassRange() throws Exception {
+        when(itemClient.getItemAvailability(anyLong(), anyLong(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        performAsync(get("/items/1/availability")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-02-01T00:00:00"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).getItemAvailability(1L, 1L,
+                LocalDateTime.of(2030, 1, 1, 0, 0), LocalDateTime.of(2030, 2, 1, 0, 0));
+    }
+
     @Test
     void addComment_shouldReturnOk() throws Exception {
         when(itemClient.addComment(anyLong(), anyLong(), any(CommentDto.class)))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(post("/items/1/comment")
+        performAsync(post("/items/1/comment")
                         .header("X-Sharer-User-Id", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"text\":\"Great item!\"}"))
@@ -125,4 +219,22 @@ class ItemControllerTest {
                         .content("{\"text\":\"\"}"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private MvcResult performStreaming(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult streaming = mockMvc.perform(asyncDispatch(result))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streaming.getAsyncResult();
+        return streaming;
+    }
+}
@@ -6,12 +6,13 @@ import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
-@RestClientTest(ItemRequestClient.class)
+@RestClientTest({ItemRequestClient.class, GatewayResponseCache.class})
 class ItemRequestClientTest {
 
     @Autowired
@@ -33,7 +34,7 @@ class ItemRequestClientTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        itemRequestClient.createRequest(1L, request);
+        itemRequestClient.createRequest(1L, request).block();
         server.verify();
     }
 
@@ -46,7 +47,7 @@ class ItemRequestClientTest {
                 .andExpect(header("X-Sharer-User-Id", "1"))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        itemRequestClient.getOtherUsersRequests(1L, 10, 20);
+        itemRequestClient.getOtherUsersRequests(1L, 10, 20).block();
         server.verify();
     }
 
@@ -59,7 +60,29 @@ class ItemRequestClientTest {
                 .andExpect(header("X-Sharer-User-Id", "1"))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        itemRequestClient.getRequestById(1L, 1L);
+        itemRequestClient.getRequestById(1L, 1L).block();
         server.verify();
     }
-}
\ No newline at end of file
+
+    @Test
+    void createRequest_shouldEvictCachedOtherUsersRequests() {
+        server.expect(requestTo("http://localhost:9090/requests/all?from=0&size=5"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://localhost:9090/requests"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"id\":2}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://localhost:9090/requests/all?from=0&size=5"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[{\"id\":2}]", MediaType.APPLICATION_JSON));
+        ItemRequestRequest request = new ItemRequestRequest();
+        request.setDescription("Нужна дрель");
+
+        itemRequestClient.getOtherUsersRequests(1L, 0, 5).block();
+        itemRequestClient.getOtherUsersRequests(1L, 0, 5).block();
+        itemRequestClient.createRequest(2L, request).block();
+        itemRequestClient.getOtherUsersRequests(1L, 0, 5).block();
+
+        server.verify();
+    }
+}
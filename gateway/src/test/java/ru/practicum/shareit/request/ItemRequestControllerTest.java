@@ -5,7 +5,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -25,9 +30,9 @@ class ItemRequestControllerTest {
     @Test
     void createRequest_shouldReturnOk() throws Exception {
         when(itemRequestClient.createRequest(anyLong(), any(ItemRequestRequest.class)))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(post("/requests")
+        performAsync(post("/requests")
                         .header("X-Sharer-User-Id", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"description\":\"Need a drill\"}"))
@@ -46,9 +51,9 @@ class ItemRequestControllerTest {
     @Test
     void getUserRequests_shouldReturnOk() throws Exception {
         when(itemRequestClient.getUserRequests(anyLong()))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/requests")
+        performAsync(get("/requests")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
     }
@@ -56,9 +61,9 @@ class ItemRequestControllerTest {
     @Test
     void getOtherUsersRequests_shouldReturnOk() throws Exception {
         when(itemRequestClient.getOtherUsersRequests(anyLong(), anyInt(), anyInt()))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/requests/all")
+        performAsync(get("/requests/all")
                         .header("X-Sharer-User-Id", 1L)
                         .param("from", "0")
                         .param("size", "10"))
@@ -77,10 +82,17 @@ class ItemRequestControllerTest {
     @Test
     void getRequestById_shouldReturnOk() throws Exception {
         when(itemRequestClient.getRequestById(anyLong(), anyLong()))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/requests/1")
+        performAsync(get("/requests/1")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
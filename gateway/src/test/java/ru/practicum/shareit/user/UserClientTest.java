@@ -6,13 +6,14 @@ import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
-@RestClientTest(UserClient.class)
+@RestClientTest({UserClient.class, GatewayResponseCache.class})
 class UserClientTest {
 
     @Autowired
@@ -34,7 +35,7 @@ class UserClientTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        userClient.createUser(request);
+        userClient.createUser(request).block();
 
         server.verify();
     }
@@ -51,7 +52,7 @@ class UserClientTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        userClient.updateUser(1L, request);
+        userClient.updateUser(1L, request).block();
 
         server.verify();
     }
@@ -64,7 +65,7 @@ class UserClientTest {
                 .andExpect(method(HttpMethod.GET))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        userClient.getUserById(1L);
+        userClient.getUserById(1L).block();
 
         server.verify();
     }
@@ -75,7 +76,7 @@ class UserClientTest {
                 .andExpect(method(HttpMethod.DELETE))
                 .andRespond(withSuccess());
 
-        userClient.deleteUser(1L);
+        userClient.deleteUser(1L).block();
 
         server.verify();
     }
@@ -88,8 +89,28 @@ class UserClientTest {
                 .andExpect(method(HttpMethod.GET))
                 .andRespond(withSuccess(responseBody, MediaType.APPLICATION_JSON));
 
-        userClient.getAllUsers();
+        userClient.getAllUsers().block();
 
         server.verify();
     }
-}
\ No newline at end of file
+
+    @Test
+    void deleteUser_shouldEvictCachedUser() {
+        server.expect(requestTo("http://localhost:9090/users/5"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"id\":5}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://localhost:9090/users/5"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withSuccess());
+        server.expect(requestTo("http://localhost:9090/users/5"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withResourceNotFound());
+
+        userClient.getUserById(5L).block();
+        userClient.getUserById(5L).block();
+        userClient.deleteUser(5L).block();
+        userClient.getUserById(5L).block();
+
+        server.verify();
+    }
+}
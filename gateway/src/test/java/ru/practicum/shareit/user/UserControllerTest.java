@@ -5,7 +5,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 
@@ -26,9 +31,9 @@ class UserControllerTest {
     @Test
     void createUser_shouldReturnOk() throws Exception {
         when(userClient.createUser(any(NewUserRequest.class)))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(post("/users")
+        performAsync(post("/users")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"name\":\"John Doe\",\"email\":\"john@example.com\"}"))
                 .andExpect(status().isOk());
@@ -45,9 +50,9 @@ class UserControllerTest {
     @Test
     void updateUser_shouldReturnOk() throws Exception {
         when(userClient.updateUser(anyLong(), any(UpdateUserRequest.class)))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(patch("/users/1")
+        performAsync(patch("/users/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"name\":\"Updated Name\"}"))
                 .andExpect(status().isOk());
@@ -64,27 +69,34 @@ class UserControllerTest {
     @Test
     void getUserById_shouldReturnOk() throws Exception {
         when(userClient.getUserById(anyLong()))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/users/1"))
+        performAsync(get("/users/1"))
                 .andExpect(status().isOk());
     }
 
     @Test
     void deleteUser_shouldReturnOk() throws Exception {
         when(userClient.deleteUser(anyLong()))
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(delete("/users/1"))
+        performAsync(delete("/users/1"))
                 .andExpect(status().isOk());
     }
 
     @Test
     void getAllUsers_shouldReturnOk() throws Exception {
         when(userClient.getAllUsers())
-                .thenReturn(org.springframework.http.ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/users"))
+        performAsync(get("/users"))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -2,14 +2,22 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.BookingAvailabilityDto;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.etag.EntityTags;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -36,33 +44,64 @@ public class BookingController {
         return bookingService.approveBooking(userId, bookingId, approved);
     }
 
+    @GetMapping("/availability")
+    public BookingAvailabilityDto getAvailability(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("Проверка доступности вещи ID {} с {} по {} пользователем ID {}", itemId, start, end, userId);
+        return bookingService.getAvailability(itemId, start, end);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingResponse getBookingById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @PathVariable Long bookingId) {
+            @PathVariable Long bookingId,
+            WebRequest webRequest) {
         log.info("Получение бронирования ID {} пользователем ID {}", bookingId, userId);
-        return bookingService.getBookingById(userId, bookingId);
+        return EntityTags.conditionalGet(webRequest, () -> bookingService.getBookingTag(userId, bookingId),
+                () -> bookingService.getBookingById(userId, bookingId));
     }
 
     @GetMapping
-    public List<BookingResponse> getUserBookings(
+    public ResponseEntity<List<BookingResponse>> getUserBookings(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") BookingState state,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
         log.info("Получение бронирований пользователя ID {}, статус {}", userId, state);
+        if (cursor != null) {
+            return toWindowResponse(bookingService.scrollUserBookings(
+                    userId, state, BookingCursor.decode(cursor), Limit.of(size)));
+        }
         Pageable pageable = PageRequest.of(from > 0 ? from / size : 0, size);
-        return bookingService.getUserBookings(userId, state, pageable);
+        return ResponseEntity.ok(bookingService.getUserBookings(userId, state, pageable));
     }
 
     @GetMapping("/owner-bookings")
-    public List<BookingResponse> getOwnerBookings(
+    public ResponseEntity<List<BookingResponse>> getOwnerBookings(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") BookingState state,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
         log.info("Получение бронирований владельца ID {}, статус {}", userId, state);
+        if (cursor != null) {
+            return toWindowResponse(bookingService.scrollOwnerBookings(
+                    userId, state, BookingCursor.decode(cursor), Limit.of(size)));
+        }
         Pageable pageable = PageRequest.of(from > 0 ? from / size : 0, size);
-        return bookingService.getOwnerBookings(userId, state, pageable);
+        return ResponseEntity.ok(bookingService.getOwnerBookings(userId, state, pageable));
+    }
+
+    private ResponseEntity<List<BookingResponse>> toWindowResponse(Window<BookingResponse> window) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (window.hasNext() && !window.isEmpty()) {
+            response.header(BookingCursor.NEXT_CURSOR_HEADER,
+                    BookingCursor.encode(window.positionAt(window.size() - 1)));
+        }
+        return response.body(window.getContent());
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+
+public final class BookingCursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String START_KEY = "start";
+    private static final String ID_KEY = "id";
+    private static final String SEPARATOR = "|";
+    private static final LocalDateTime FIRST_PAGE_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private BookingCursor() {
+    }
+
+    public static ScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            LocalDateTime start = LocalDateTime.parse(decoded.substring(0, separator));
+            Long id = Long.valueOf(decoded.substring(separator + 1));
+            return after(start, id);
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Некорректный курсор: " + cursor);
+        }
+    }
+
+    public static ScrollPosition after(LocalDateTime start, Long id) {
+        return ScrollPosition.forward(Map.of(START_KEY, start, ID_KEY, id));
+    }
+
+    public static LocalDateTime startOf(ScrollPosition position) {
+        Object start = ((KeysetScrollPosition) position).getKeys().get(START_KEY);
+        return start == null ? FIRST_PAGE_START : (LocalDateTime) start;
+    }
+
+    public static Long idOf(ScrollPosition position) {
+        Object id = ((KeysetScrollPosition) position).getKeys().get(ID_KEY);
+        return id == null ? Long.MAX_VALUE : (Long) id;
+    }
+
+    public static String encode(ScrollPosition position) {
+        Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+        String raw = keys.get(START_KEY) + SEPARATOR + keys.get(ID_KEY);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
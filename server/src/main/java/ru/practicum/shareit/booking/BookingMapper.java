@@ -4,6 +4,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 
 @Mapper(componentModel = "spring")
@@ -18,4 +19,18 @@ public interface BookingMapper {
     @Mapping(target = "item.nextBooking", ignore = true)
     @Mapping(target = "item.comments", ignore = true)
     BookingResponse toBookingResponse(Booking booking);
+
+    @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "booker.name", source = "bookerName")
+    @Mapping(target = "booker.email", source = "bookerEmail")
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "item.description", source = "itemDescription")
+    @Mapping(target = "item.available", source = "itemAvailable")
+    @Mapping(target = "item.owner", source = "itemOwner")
+    @Mapping(target = "item.requestId", source = "itemRequestId")
+    @Mapping(target = "item.lastBooking", ignore = true)
+    @Mapping(target = "item.nextBooking", ignore = true)
+    @Mapping(target = "item.comments", ignore = true)
+    BookingResponse toBookingResponse(BookingView view);
 }
\ No newline at end of file
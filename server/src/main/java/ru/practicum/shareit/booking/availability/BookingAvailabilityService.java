@@ -0,0 +1,210 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.EliminatingConflict;
+import ru.practicum.shareit.seed.DataSeededEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class BookingAvailabilityService {
+    static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingIntervalIndex index = new BookingIntervalIndex();
+    private final Set<Long> bookingsChangedDuringWarmUp = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Long> bookingsDeletedDuringWarmUp = new ConcurrentHashMap<>();
+    private final BookingRepository bookingRepository;
+    private final int warmUpBatchSize;
+
+    private volatile boolean ready;
+    private volatile boolean warmingUp;
+    private volatile LocalDateTime indexedSince = LocalDateTime.MAX;
+
+    public BookingAvailabilityService(BookingRepository bookingRepository,
+                                      @Value("${shareit.booking.warm-up-batch-size:1000}") int warmUpBatchSize) {
+        this.bookingRepository = bookingRepository;
+        this.warmUpBatchSize = warmUpBatchSize;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, DataSeededEvent.class})
+    public synchronized void warmUp() {
+        ready = false;
+        warmingUp = true;
+        bookingsChangedDuringWarmUp.clear();
+        bookingsDeletedDuringWarmUp.clear();
+        index.clear();
+
+        LocalDateTime now = LocalDateTime.now();
+        long lastId = 0;
+        List<BookingInterval> batch;
+        do {
+            batch = bookingRepository.findActiveIntervals(
+                    BLOCKING_STATUSES, now, lastId, Limit.of(warmUpBatchSize));
+            index.putAll(batch);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).bookingId();
+            }
+        } while (batch.size() == warmUpBatchSize);
+
+        warmingUp = false;
+        List<Long> changed = new ArrayList<>(bookingsChangedDuringWarmUp);
+        bookingsChangedDuringWarmUp.clear();
+        bookingRepository.findAllById(changed).forEach(booking -> {
+            if (BLOCKING_STATUSES.contains(booking.getStatus())) {
+                index.put(BookingInterval.of(booking));
+            } else {
+                index.release(booking.getItem().getId(), booking.getId());
+            }
+        });
+        Map<Long, Long> deleted = new HashMap<>(bookingsDeletedDuringWarmUp);
+        bookingsDeletedDuringWarmUp.clear();
+        deleted.forEach((bookingId, itemId) -> index.release(itemId, bookingId));
+
+        indexedSince = now;
+        ready = true;
+        log.info("Индекс интервалов бронирований построен: {} активных бронирований", index.size());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.availability.prune-delay:PT10M}",
+            initialDelayString = "${shareit.booking.availability.prune-delay:PT10M}")
+    public synchronized int prune() {
+        if (!ready) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int pruned = index.removeEndedBy(now);
+        indexedSince = now;
+        if (pruned > 0) {
+            log.info("Из индекса интервалов удалено {} завершившихся бронирований", pruned);
+        }
+        return pruned;
+    }
+
+    public void reserve(Booking booking) {
+        BookingInterval interval = BookingInterval.of(booking);
+        boolean reserved = index.tryReserve(interval);
+        if (reserved && !ready) {
+            track(interval.bookingId());
+            if (bookingRepository.existsByItemIdAndIdNotAndStatusInAndStartBeforeAndEndAfter(
+                    interval.itemId(), interval.bookingId(), BLOCKING_STATUSES, interval.end(), interval.start())) {
+                index.release(interval.itemId(), interval.bookingId());
+                reserved = false;
+            }
+        }
+
+        if (!reserved) {
+            throw new EliminatingConflict("Вещь уже забронирована на выбранные даты");
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        index.release(interval.itemId(), interval.bookingId());
+                    }
+                }
+            });
+        }
+    }
+
+    public void release(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Long bookingId = booking.getId();
+        afterCommit(() -> {
+            track(bookingId);
+            index.release(itemId, bookingId);
+        });
+    }
+
+    public void onUserDeleted(Long userId) {
+        List<BookingInterval> cascaded = bookingRepository.findActiveIntervalsByBookerOrOwner(
+                userId, BLOCKING_STATUSES, LocalDateTime.now());
+        if (!cascaded.isEmpty()) {
+            afterCommit(() -> cascaded.forEach(interval -> {
+                if (warmingUp) {
+                    bookingsDeletedDuringWarmUp.put(interval.bookingId(), interval.itemId());
+                }
+                index.release(interval.itemId(), interval.bookingId());
+            }));
+        }
+    }
+
+    public boolean isAvailable(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (ready) {
+            return index.isFree(itemId, start, end);
+        }
+        return !bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                itemId, BLOCKING_STATUSES, end, start);
+    }
+
+    public List<BusyPeriod> findBusyPeriods(Long itemId, LocalDateTime from, LocalDateTime to) {
+        List<BookingInterval> intervals = ready && !from.isBefore(indexedSince)
+                ? index.overlapping(itemId, from, to)
+                : bookingRepository.findItemIntervals(itemId, BLOCKING_STATUSES, from, to);
+
+        List<BusyPeriod> periods = new ArrayList<>();
+        LocalDateTime currentStart = null;
+        LocalDateTime currentEnd = null;
+        for (BookingInterval interval : intervals) {
+            LocalDateTime start = interval.start().isBefore(from) ? from : interval.start();
+            LocalDateTime end = interval.end().isAfter(to) ? to : interval.end();
+            if (currentEnd != null && !start.isAfter(currentEnd)) {
+                if (end.isAfter(currentEnd)) {
+                    currentEnd = end;
+                }
+                continue;
+            }
+            if (currentEnd != null) {
+                periods.add(new BusyPeriod(currentStart, currentEnd));
+            }
+            currentStart = start;
+            currentEnd = end;
+        }
+        if (currentEnd != null) {
+            periods.add(new BusyPeriod(currentStart, currentEnd));
+        }
+        return periods;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void track(Long bookingId) {
+        if (warmingUp) {
+            bookingsChangedDuringWarmUp.add(bookingId);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class BookingIntervalIndex {
+    private final Map<Long, ItemBookingIntervals> items = new ConcurrentHashMap<>();
+
+    public boolean tryReserve(BookingInterval interval) {
+        return intervalsOf(interval.itemId()).tryAdd(interval);
+    }
+
+    public void put(BookingInterval interval) {
+        intervalsOf(interval.itemId()).put(interval);
+    }
+
+    public void putAll(Collection<BookingInterval> intervals) {
+        intervals.forEach(this::put);
+    }
+
+    public void release(Long itemId, Long bookingId) {
+        ItemBookingIntervals intervals = items.get(itemId);
+        if (intervals != null) {
+            intervals.remove(bookingId);
+        }
+    }
+
+    public boolean isFree(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemBookingIntervals intervals = items.get(itemId);
+        return intervals == null || intervals.isFree(from, to);
+    }
+
+    public List<BookingInterval> overlapping(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemBookingIntervals intervals = items.get(itemId);
+        return intervals == null ? List.of() : intervals.overlapping(from, to);
+    }
+
+    public int removeEndedBy(LocalDateTime time) {
+        return items.values().stream().mapToInt(intervals -> intervals.removeEndedBy(time)).sum();
+    }
+
+    public void clear() {
+        items.clear();
+    }
+
+    public int size() {
+        return items.values().stream().mapToInt(ItemBookingIntervals::size).sum();
+    }
+
+    private ItemBookingIntervals intervalsOf(Long itemId) {
+        return items.computeIfAbsent(itemId, id -> new ItemBookingIntervals());
+    }
+}
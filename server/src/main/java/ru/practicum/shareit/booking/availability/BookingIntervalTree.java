@@ -0,0 +1,191 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+class BookingIntervalTree {
+    private static final Comparator<BookingInterval> BY_START = Comparator
+            .comparing(BookingInterval::start)
+            .thenComparing(BookingInterval::bookingId);
+
+    private Node root;
+    private int size;
+
+    void add(BookingInterval interval) {
+        root = insert(root, interval);
+    }
+
+    void remove(BookingInterval interval) {
+        root = delete(root, interval);
+    }
+
+    Optional<BookingInterval> findFirst(LocalDateTime from, LocalDateTime to, Predicate<BookingInterval> filter) {
+        List<BookingInterval> found = new ArrayList<>(1);
+        visitOverlapping(root, from, to, interval -> filter.test(interval) && found.add(interval));
+        return found.stream().findFirst();
+    }
+
+    List<BookingInterval> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<BookingInterval> result = new ArrayList<>();
+        visitOverlapping(root, from, to, interval -> !result.add(interval));
+        return result;
+    }
+
+    List<BookingInterval> endedBy(LocalDateTime time) {
+        List<BookingInterval> result = new ArrayList<>();
+        collectEndedBy(root, time, result);
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean visitOverlapping(Node node, LocalDateTime from, LocalDateTime to,
+                                     Predicate<BookingInterval> visitor) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return false;
+        }
+        if (visitOverlapping(node.left, from, to, visitor)) {
+            return true;
+        }
+        if (!node.interval.start().isBefore(to)) {
+            return false;
+        }
+        if (node.interval.end().isAfter(from) && visitor.test(node.interval)) {
+            return true;
+        }
+        return visitOverlapping(node.right, from, to, visitor);
+    }
+
+    private void collectEndedBy(Node node, LocalDateTime time, List<BookingInterval> result) {
+        if (node == null) {
+            return;
+        }
+        collectEndedBy(node.left, time, result);
+        if (!node.interval.start().isBefore(time)) {
+            return;
+        }
+        if (!node.interval.end().isAfter(time)) {
+            result.add(node.interval);
+        }
+        collectEndedBy(node.right, time, result);
+    }
+
+    private Node insert(Node node, BookingInterval interval) {
+        if (node == null) {
+            size++;
+            return new Node(interval);
+        }
+        if (BY_START.compare(interval, node.interval) < 0) {
+            node.left = insert(node.left, interval);
+        } else {
+            node.right = insert(node.right, interval);
+        }
+        return balance(node);
+    }
+
+    private Node delete(Node node, BookingInterval interval) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = BY_START.compare(interval, node.interval);
+        if (comparison < 0) {
+            node.left = delete(node.left, interval);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, interval);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    private Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = node.interval.end();
+        if (node.left != null && node.left.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.right.maxEnd;
+        }
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+        private final BookingInterval interval;
+        private Node left;
+        private Node right;
+        private int height = 1;
+        private LocalDateTime maxEnd;
+
+        private Node(BookingInterval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end();
+        }
+    }
+}
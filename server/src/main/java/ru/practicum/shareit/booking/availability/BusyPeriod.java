@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+
+public record BusyPeriod(LocalDateTime start, LocalDateTime end) {
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+class ItemBookingIntervals {
+    private final BookingIntervalTree intervals = new BookingIntervalTree();
+    private final Map<Long, BookingInterval> byBookingId = new HashMap<>();
+    private final Lock lock = new ReentrantLock();
+
+    boolean tryAdd(BookingInterval interval) {
+        lock.lock();
+        try {
+            if (findOverlap(interval.start(), interval.end(), interval.bookingId()).isPresent()) {
+                return false;
+            }
+            putUnchecked(interval);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(BookingInterval interval) {
+        lock.lock();
+        try {
+            putUnchecked(interval);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(Long bookingId) {
+        lock.lock();
+        try {
+            BookingInterval interval = byBookingId.remove(bookingId);
+            if (interval != null) {
+                intervals.remove(interval);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int removeEndedBy(LocalDateTime time) {
+        lock.lock();
+        try {
+            List<BookingInterval> ended = intervals.endedBy(time);
+            ended.forEach(interval -> {
+                byBookingId.remove(interval.bookingId());
+                intervals.remove(interval);
+            });
+            return ended.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isFree(LocalDateTime from, LocalDateTime to) {
+        lock.lock();
+        try {
+            return findOverlap(from, to, null).isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<BookingInterval> overlapping(LocalDateTime from, LocalDateTime to) {
+        lock.lock();
+        try {
+            return intervals.overlapping(from, to);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return intervals.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<BookingInterval> findOverlap(LocalDateTime from, LocalDateTime to, Long excludedBookingId) {
+        return intervals.findFirst(from, to, interval -> !interval.bookingId().equals(excludedBookingId));
+    }
+
+    private void putUnchecked(BookingInterval interval) {
+        BookingInterval previous = byBookingId.put(interval.bookingId(), interval);
+        if (previous != null) {
+            intervals.remove(previous);
+        }
+        intervals.add(interval);
+    }
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.booking.dto;
+
+public record BookingVersionView(Long id, Long bookerId, Long itemOwner,
+                                 Long version, Long itemVersion, Long bookerVersion) {
+}
@@ -1,8 +1,16 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.dto.BookingVersionView;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 
 
@@ -11,6 +19,13 @@ import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String BOOKING_VIEW_SELECT = "SELECT new ru.practicum.shareit.booking.dto.BookingView(" +
+            "b.id, b.start, b.end, b.status, u.id, u.name, u.email, " +
+            "i.id, i.name, i.description, i.available, i.owner, i.request.id) " +
+            "FROM Booking b JOIN b.booker u JOIN b.item i ";
+    String KEYSET_AFTER = "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC";
+
     List<Booking> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
 
     List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status, Pageable pageable);
@@ -31,11 +46,192 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     List<Booking> findByItem_OwnerAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime start, Pageable pageable);
 
-    Optional<Booking> findFirstByItemIdAndStatusAndStartBeforeOrderByEndDesc(Long itemId, BookingStatus status, LocalDateTime now);
-
-    Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(Long itemId, BookingStatus status, LocalDateTime now);
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingVersionView(" +
+            "b.id, u.id, i.owner, b.version, i.version, u.version) " +
+            "FROM Booking b JOIN b.booker u JOIN b.item i WHERE b.id = :bookingId")
+    Optional<BookingVersionView> findVersionViewById(@Param("bookingId") Long bookingId);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE u.id = :bookerId ORDER BY b.start DESC")
+    List<BookingView> findViewsByBooker(@Param("bookerId") Long bookerId, Pageable pageable);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE u.id = :bookerId AND b.status = :status ORDER BY b.start DESC")
+    List<BookingView> findViewsByBookerAndStatus(@Param("bookerId") Long bookerId,
+                                                 @Param("status") BookingStatus status,
+                                                 Pageable pageable);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE u.id = :bookerId AND b.start < :now AND b.end > :now ORDER BY b.start DESC")
+    List<BookingView> findCurrentViewsByBooker(@Param("bookerId") Long bookerId,
+                                               @Param("now") LocalDateTime now,
+                                               Pageable pageable);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE u.id = :bookerId AND b.end < :now ORDER BY b.start DESC")
+    List<BookingView> findPastViewsByBooker(@Param("bookerId") Long bookerId,
+                                            @Param("now") LocalDateTime now,
+                                            Pageable pageable);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE u.id = :bookerId AND b.start > :now ORDER BY b.start DESC")
+    List<BookingView> findFutureViewsByBooker(@Param("bookerId") Long bookerId,
+                                              @Param("now") LocalDateTime now,
+                                              Pageable pageable);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE i.owner = :ownerId ORDER BY b.start DESC")
+    List<BookingView> findViewsByOwner(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE i.owner = :ownerId AND b.status = :status ORDER BY b.start DESC")
+    List<BookingView> findViewsByOwnerAndStatus(@Param("ownerId") Long ownerId,
+                                                @Param("status") BookingStatus status,
+                                                Pageable pageable);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE i.owner = :ownerId AND b.start < :now AND b.end > :now ORDER BY b.start DESC")
+    List<BookingView> findCurrentViewsByOwner(@Param("ownerId") Long ownerId,
+                                              @Param("now") LocalDateTime now,
+                                              Pageable pageable);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE i.owner = :ownerId AND b.end < :now ORDER BY b.start DESC")
+    List<BookingView> findPastViewsByOwner(@Param("ownerId") Long ownerId,
+                                           @Param("now") LocalDateTime now,
+                                           Pageable pageable);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE i.owner = :ownerId AND b.start > :now ORDER BY b.start DESC")
+    List<BookingView> findFutureViewsByOwner(@Param("ownerId") Long ownerId,
+                                             @Param("now") LocalDateTime now,
+                                             Pageable pageable);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE u.id = :bookerId " + KEYSET_AFTER)
+    List<BookingView> scrollViewsByBooker(@Param("bookerId") Long bookerId,
+                                          @Param("start") LocalDateTime start,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE u.id = :bookerId AND b.status = :status " + KEYSET_AFTER)
+    List<BookingView> scrollViewsByBookerAndStatus(@Param("bookerId") Long bookerId,
+                                                   @Param("status") BookingStatus status,
+                                                   @Param("start") LocalDateTime start,
+                                                   @Param("id") Long id,
+                                                   Limit limit);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE u.id = :bookerId AND b.start < :now AND b.end > :now " + KEYSET_AFTER)
+    List<BookingView> scrollCurrentViewsByBooker(@Param("bookerId") Long bookerId,
+                                                 @Param("now") LocalDateTime now,
+                                                 @Param("start") LocalDateTime start,
+                                                 @Param("id") Long id,
+                                                 Limit limit);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE u.id = :bookerId AND b.end < :now " + KEYSET_AFTER)
+    List<BookingView> scrollPastViewsByBooker(@Param("bookerId") Long bookerId,
+                                              @Param("now") LocalDateTime now,
+                                              @Param("start") LocalDateTime start,
+                                              @Param("id") Long id,
+                                              Limit limit);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE u.id = :bookerId AND b.start > :now " + KEYSET_AFTER)
+    List<BookingView> scrollFutureViewsByBooker(@Param("bookerId") Long bookerId,
+                                                @Param("now") LocalDateTime now,
+                                                @Param("start") LocalDateTime start,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE i.owner = :ownerId " + KEYSET_AFTER)
+    List<BookingView> scrollViewsByOwner(@Param("ownerId") Long ownerId,
+                                         @Param("start") LocalDateTime start,
+                                         @Param("id") Long id,
+                                         Limit limit);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE i.owner = :ownerId AND b.status = :status " + KEYSET_AFTER)
+    List<BookingView> scrollViewsByOwnerAndStatus(@Param("ownerId") Long ownerId,
+                                                  @Param("status") BookingStatus status,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("id") Long id,
+                                                  Limit limit);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE i.owner = :ownerId AND b.start < :now AND b.end > :now " + KEYSET_AFTER)
+    List<BookingView> scrollCurrentViewsByOwner(@Param("ownerId") Long ownerId,
+                                                @Param("now") LocalDateTime now,
+                                                @Param("start") LocalDateTime start,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE i.owner = :ownerId AND b.end < :now " + KEYSET_AFTER)
+    List<BookingView> scrollPastViewsByOwner(@Param("ownerId") Long ownerId,
+                                             @Param("now") LocalDateTime now,
+                                             @Param("start") LocalDateTime start,
+                                             @Param("id") Long id,
+                                             Limit limit);
+
+    @Query(BOOKING_VIEW_SELECT + "WHERE i.owner = :ownerId AND b.start > :now " + KEYSET_AFTER)
+    List<BookingView> scrollFutureViewsByOwner(@Param("ownerId") Long ownerId,
+                                               @Param("now") LocalDateTime now,
+                                               @Param("start") LocalDateTime start,
+                                               @Param("id") Long id,
+                                               Limit limit);
+
+    Window<Booking> findByBookerIdOrderByStartDescIdDesc(Long bookerId, ScrollPosition position, Limit limit);
+
+    Window<Booking> findByBookerIdAndStatusOrderByStartDescIdDesc(Long bookerId, BookingStatus status, ScrollPosition position, Limit limit);
+
+    Window<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(Long bookerId, LocalDateTime start, LocalDateTime end, ScrollPosition position, Limit limit);
+
+    Window<Booking> findByBookerIdAndEndBeforeOrderByStartDescIdDesc(Long bookerId, LocalDateTime end, ScrollPosition position, Limit limit);
+
+    Window<Booking> findByBookerIdAndStartAfterOrderByStartDescIdDesc(Long bookerId, LocalDateTime start, ScrollPosition position, Limit limit);
+
+    Window<Booking> findByItem_OwnerOrderByStartDescIdDesc(Long ownerId, ScrollPosition position, Limit limit);
+
+    Window<Booking> findByItem_OwnerAndStatusOrderByStartDescIdDesc(Long ownerId, BookingStatus status, ScrollPosition position, Limit limit);
+
+    Window<Booking> findByItem_OwnerAndStartBeforeAndEndAfterOrderByStartDescIdDesc(Long ownerId, LocalDateTime start, LocalDateTime end, ScrollPosition position, Limit limit);
+
+    Window<Booking> findByItem_OwnerAndEndBeforeOrderByStartDescIdDesc(Long ownerId, LocalDateTime end, ScrollPosition position, Limit limit);
+
+    Window<Booking> findByItem_OwnerAndStartAfterOrderByStartDescIdDesc(Long ownerId, LocalDateTime start, ScrollPosition position, Limit limit);
+
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.status = :status AND b.start < :now " +
+            "AND b.end = (SELECT MAX(b2.end) FROM Booking b2 WHERE b2.item.id = b.item.id " +
+            "AND b2.status = :status AND b2.start < :now)")
+    List<Booking> findLastBookingsByItemIds(@Param("itemIds") List<Long> itemIds,
+                                            @Param("status") BookingStatus status,
+                                            @Param("now") LocalDateTime now);
+
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.status = :status AND b.start > :now " +
+            "AND b.start = (SELECT MIN(b2.start) FROM Booking b2 WHERE b2.item.id = b.item.id " +
+            "AND b2.status = :status AND b2.start > :now)")
+    List<Booking> findNextBookingsByItemIds(@Param("itemIds") List<Long> itemIds,
+                                            @Param("status") BookingStatus status,
+                                            @Param("now") LocalDateTime now);
 
     boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(Long bookerId, Long itemId, BookingStatus status, LocalDateTime now);
 
     List<Booking> findByBookerIdAndItemIdAndStatusOrderByStartDesc(Long bookerId, Long itemId, BookingStatus status);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(Long itemId, List<BookingStatus> statuses,
+                                                             LocalDateTime end, LocalDateTime start);
+
+    boolean existsByItemIdAndIdNotAndStatusInAndStartBeforeAndEndAfter(Long itemId, Long bookingId,
+                                                                      List<BookingStatus> statuses,
+                                                                      LocalDateTime end, LocalDateTime start);
+
+    @Query("SELECT new ru.practicum.shareit.booking.availability.BookingInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b " +
+            "WHERE b.status IN :statuses AND b.end > :after AND b.id > :lastId " +
+            "ORDER BY b.id")
+    List<BookingInterval> findActiveIntervals(@Param("statuses") List<BookingStatus> statuses,
+                                              @Param("after") LocalDateTime after,
+                                              @Param("lastId") Long lastId,
+                                              Limit limit);
+
+    @Query("SELECT new ru.practicum.shareit.booking.availability.BookingInterval(b.id, i.id, b.start, b.end) " +
+            "FROM Booking b JOIN b.item i " +
+            "WHERE (b.booker.id = :userId OR i.owner = :userId) AND b.status IN :statuses AND b.end > :after")
+    List<BookingInterval> findActiveIntervalsByBookerOrOwner(@Param("userId") Long userId,
+                                                             @Param("statuses") List<BookingStatus> statuses,
+                                                             @Param("after") LocalDateTime after);
+
+    @Query("SELECT new ru.practicum.shareit.booking.availability.BookingInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status IN :statuses AND b.start < :to AND b.end > :from " +
+            "ORDER BY b.start")
+    List<BookingInterval> findItemIntervals(@Param("itemId") Long itemId,
+                                            @Param("statuses") List<BookingStatus> statuses,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
 }
\ No newline at end of file
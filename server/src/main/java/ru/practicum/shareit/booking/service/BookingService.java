@@ -1,10 +1,16 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.booking.dto.BookingAvailabilityDto;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.etag.Tagged;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
@@ -12,9 +18,17 @@ public interface BookingService {
 
     BookingResponse approveBooking(Long userId, Long bookingId, Boolean approved);
 
-    BookingResponse getBookingById(Long userId, Long bookingId);
+    BookingAvailabilityDto getAvailability(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    Tagged<BookingResponse> getBookingById(Long userId, Long bookingId);
+
+    String getBookingTag(Long userId, Long bookingId);
 
     List<BookingResponse> getUserBookings(Long userId, BookingState state, Pageable pageable);
 
     List<BookingResponse> getOwnerBookings(Long userId, BookingState state, Pageable pageable);
+
+    Window<BookingResponse> scrollUserBookings(Long userId, BookingState state, ScrollPosition position, Limit limit);
+
+    Window<BookingResponse> scrollOwnerBookings(Long userId, BookingState state, ScrollPosition position, Limit limit);
 }
\ No newline at end of file
@@ -2,25 +2,42 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityService;
+import ru.practicum.shareit.booking.dto.BookingAvailabilityDto;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingVersionView;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.exception.EliminatingConflict;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,10 +45,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    public static final String LISTING_FETCH_ENTITY = "entity";
+    public static final String LISTING_FETCH_PROJECTION = "projection";
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final UserExistenceService userExistenceService;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final BookingAvailabilityService bookingAvailabilityService;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+
+    @Value("${shareit.booking.listing-fetch:projection}")
+    private String listingFetch = LISTING_FETCH_PROJECTION;
 
     @Override
     @Transactional
@@ -56,6 +82,7 @@ public class BookingServiceImpl implements BookingService {
         booking.setStatus(BookingStatus.WAITING);
 
         booking = bookingRepository.save(booking);
+        bookingAvailabilityService.reserve(booking);
         log.info("Бронирование создано: ID {}", booking.getId());
         return bookingMapper.toBookingResponse(booking);
     }
@@ -74,12 +101,39 @@ public class BookingServiceImpl implements BookingService {
         }
 
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        booking = bookingRepository.save(booking);
+        try {
+            booking = bookingRepository.saveAndFlush(booking);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Бронирование {} изменено параллельным запросом", bookingId);
+            throw new EliminatingConflict("Бронирование уже обработано другим запросом");
+        }
+        if (approved) {
+            itemBookingSummaryService.refresh(booking.getItem().getId());
+        } else {
+            bookingAvailabilityService.release(booking);
+        }
         return bookingMapper.toBookingResponse(booking);
     }
 
     @Override
-    public BookingResponse getBookingById(Long userId, Long bookingId) {
+    public BookingAvailabilityDto getAvailability(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new ValidationException("Дата начала должна быть раньше даты окончания");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Вещь не найдена");
+        }
+
+        return BookingAvailabilityDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .available(bookingAvailabilityService.isAvailable(itemId, start, end))
+                .build();
+    }
+
+    @Override
+    public Tagged<BookingResponse> getBookingById(Long userId, Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
 
@@ -87,87 +141,213 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Бронирование не найдено");
         }
 
-        return bookingMapper.toBookingResponse(booking);
+        return new Tagged<>(bookingMapper.toBookingResponse(booking), EntityTags.of(booking.getId(),
+                booking.getVersion(), booking.getItem().getVersion(), booking.getBooker().getVersion()));
+    }
+
+    @Override
+    public String getBookingTag(Long userId, Long bookingId) {
+        BookingVersionView booking = bookingRepository.findVersionViewById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
+
+        if (!booking.bookerId().equals(userId) && !booking.itemOwner().equals(userId)) {
+            throw new NotFoundException("Бронирование не найдено");
+        }
+
+        return EntityTags.of(booking.id(), booking.version(), booking.itemVersion(), booking.bookerVersion());
     }
 
     @Override
     public List<BookingResponse> getUserBookings(Long userId, BookingState state, Pageable pageable) {
-        if (!userRepository.existsById(userId)) {
+        if (!userExistenceService.exists(userId)) {
             throw new NotFoundException("Пользователь не найден");
         }
 
-        List<Booking> bookings;
         LocalDateTime now = LocalDateTime.now();
-
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByBookerIdOrderByStartDesc(userId, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        userId, now, now, pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(userId, now, pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(userId, now, pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.REJECTED, pageable);
-                break;
-            default:
-                throw new ValidationException("Неизвестный статус: " + state);
-        }
-
-        return bookings.stream()
+        if (LISTING_FETCH_ENTITY.equals(listingFetch)) {
+            return userBookings(userId, state, now).page().apply(pageable).stream()
+                    .map(bookingMapper::toBookingResponse)
+                    .collect(Collectors.toList());
+        }
+        return findUserBookingViews(userId, state, now, pageable).stream()
                 .map(bookingMapper::toBookingResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<BookingResponse> getOwnerBookings(Long userId, BookingState state, Pageable pageable) {
-        if (!userRepository.existsById(userId)) {
+        if (!userExistenceService.exists(userId)) {
+            throw new NotFoundException("Пользователь не найден");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (LISTING_FETCH_ENTITY.equals(listingFetch)) {
+            return ownerBookings(userId, state, now).page().apply(pageable).stream()
+                    .map(bookingMapper::toBookingResponse)
+                    .collect(Collectors.toList());
+        }
+        return findOwnerBookingViews(userId, state, now, pageable).stream()
+                .map(bookingMapper::toBookingResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Window<BookingResponse> scrollUserBookings(Long userId, BookingState state,
+                                                      ScrollPosition position, Limit limit) {
+        if (!userExistenceService.exists(userId)) {
+            throw new NotFoundException("Пользователь не найден");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!LISTING_FETCH_ENTITY.equals(listingFetch)) {
+            return toWindow(scrollUserBookingViews(userId, state, now, position, Limit.of(limit.max() + 1)), limit);
+        }
+
+        return userBookings(userId, state, now).scroll().apply(position, limit)
+                .map(bookingMapper::toBookingResponse);
+    }
+
+    @Override
+    public Window<BookingResponse> scrollOwnerBookings(Long userId, BookingState state,
+                                                       ScrollPosition position, Limit limit) {
+        if (!userExistenceService.exists(userId)) {
             throw new NotFoundException("Пользователь не найден");
         }
 
-        List<Booking> bookings;
         LocalDateTime now = LocalDateTime.now();
+        if (!LISTING_FETCH_ENTITY.equals(listingFetch)) {
+            return toWindow(scrollOwnerBookingViews(userId, state, now, position, Limit.of(limit.max() + 1)), limit);
+        }
+
+        return ownerBookings(userId, state, now).scroll().apply(position, limit)
+                .map(bookingMapper::toBookingResponse);
+    }
+
+    private List<BookingView> scrollUserBookingViews(Long userId, BookingState state, LocalDateTime now,
+                                                     ScrollPosition position, Limit limit) {
+        LocalDateTime start = BookingCursor.startOf(position);
+        Long id = BookingCursor.idOf(position);
+        return switch (state) {
+            case ALL -> bookingRepository.scrollViewsByBooker(userId, start, id, limit);
+            case CURRENT -> bookingRepository.scrollCurrentViewsByBooker(userId, now, start, id, limit);
+            case PAST -> bookingRepository.scrollPastViewsByBooker(userId, now, start, id, limit);
+            case FUTURE -> bookingRepository.scrollFutureViewsByBooker(userId, now, start, id, limit);
+            case WAITING -> bookingRepository.scrollViewsByBookerAndStatus(
+                    userId, BookingStatus.WAITING, start, id, limit);
+            case REJECTED -> bookingRepository.scrollViewsByBookerAndStatus(
+                    userId, BookingStatus.REJECTED, start, id, limit);
+        };
+    }
 
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByItem_OwnerOrderByStartDesc(userId, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByItem_OwnerAndStartBeforeAndEndAfterOrderByStartDesc(
-                        userId, now, now, pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItem_OwnerAndEndBeforeOrderByStartDesc(userId, now, pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByItem_OwnerAndStartAfterOrderByStartDesc(userId, now, pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItem_OwnerAndStatusOrderByStartDesc(
-                        userId, BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItem_OwnerAndStatusOrderByStartDesc(
-                        userId, BookingStatus.REJECTED, pageable);
-                break;
-            default:
-                throw new ValidationException("Неизвестный статус: " + state);
-        }
-
-        return bookings.stream()
+    private List<BookingView> scrollOwnerBookingViews(Long userId, BookingState state, LocalDateTime now,
+                                                      ScrollPosition position, Limit limit) {
+        LocalDateTime start = BookingCursor.startOf(position);
+        Long id = BookingCursor.idOf(position);
+        return switch (state) {
+            case ALL -> bookingRepository.scrollViewsByOwner(userId, start, id, limit);
+            case CURRENT -> bookingRepository.scrollCurrentViewsByOwner(userId, now, start, id, limit);
+            case PAST -> bookingRepository.scrollPastViewsByOwner(userId, now, start, id, limit);
+            case FUTURE -> bookingRepository.scrollFutureViewsByOwner(userId, now, start, id, limit);
+            case WAITING -> bookingRepository.scrollViewsByOwnerAndStatus(
+                    userId, BookingStatus.WAITING, start, id, limit);
+            case REJECTED -> bookingRepository.scrollViewsByOwnerAndStatus(
+                    userId, BookingStatus.REJECTED, start, id, limit);
+        };
+    }
+
+    private Window<BookingResponse> toWindow(List<BookingView> views, Limit limit) {
+        List<BookingResponse> content = views.stream()
+                .limit(limit.max())
                 .map(bookingMapper::toBookingResponse)
                 .collect(Collectors.toList());
+        return Window.from(content, index -> BookingCursor.after(views.get(index).start(), views.get(index).id()),
+                views.size() > limit.max());
+    }
+
+    private EntityListing userBookings(Long userId, BookingState state, LocalDateTime now) {
+        return switch (state) {
+            case ALL -> new EntityListing(
+                    pageable -> bookingRepository.findByBookerIdOrderByStartDesc(userId, pageable),
+                    (position, limit) -> bookingRepository.findByBookerIdOrderByStartDescIdDesc(
+                            userId, position, limit));
+            case CURRENT -> new EntityListing(
+                    pageable -> bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
+                            userId, now, now, pageable),
+                    (position, limit) -> bookingRepository
+                            .findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+                            userId, now, now, position, limit));
+            case PAST -> new EntityListing(
+                    pageable -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(userId, now, pageable),
+                    (position, limit) -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDescIdDesc(
+                            userId, now, position, limit));
+            case FUTURE -> new EntityListing(
+                    pageable -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(userId, now, pageable),
+                    (position, limit) -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDescIdDesc(
+                            userId, now, position, limit));
+            case WAITING -> userBookingsWithStatus(userId, BookingStatus.WAITING);
+            case REJECTED -> userBookingsWithStatus(userId, BookingStatus.REJECTED);
+        };
+    }
+
+    private EntityListing userBookingsWithStatus(Long userId, BookingStatus status) {
+        return new EntityListing(
+                pageable -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, status, pageable),
+                (position, limit) -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(
+                        userId, status, position, limit));
+    }
+
+    private List<BookingView> findUserBookingViews(Long userId, BookingState state, LocalDateTime now, Pageable pageable) {
+        return switch (state) {
+            case ALL -> bookingRepository.findViewsByBooker(userId, pageable);
+            case CURRENT -> bookingRepository.findCurrentViewsByBooker(userId, now, pageable);
+            case PAST -> bookingRepository.findPastViewsByBooker(userId, now, pageable);
+            case FUTURE -> bookingRepository.findFutureViewsByBooker(userId, now, pageable);
+            case WAITING -> bookingRepository.findViewsByBookerAndStatus(userId, BookingStatus.WAITING, pageable);
+            case REJECTED -> bookingRepository.findViewsByBookerAndStatus(userId, BookingStatus.REJECTED, pageable);
+        };
+    }
+
+    private EntityListing ownerBookings(Long userId, BookingState state, LocalDateTime now) {
+        return switch (state) {
+            case ALL -> new EntityListing(
+                    pageable -> bookingRepository.findByItem_OwnerOrderByStartDesc(userId, pageable),
+                    (position, limit) -> bookingRepository.findByItem_OwnerOrderByStartDescIdDesc(
+                            userId, position, limit));
+            case CURRENT -> new EntityListing(
+                    pageable -> bookingRepository.findByItem_OwnerAndStartBeforeAndEndAfterOrderByStartDesc(
+                            userId, now, now, pageable),
+                    (position, limit) -> bookingRepository
+                            .findByItem_OwnerAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+                            userId, now, now, position, limit));
+            case PAST -> new EntityListing(
+                    pageable -> bookingRepository.findByItem_OwnerAndEndBeforeOrderByStartDesc(userId, now, pageable),
+                    (position, limit) -> bookingRepository.findByItem_OwnerAndEndBeforeOrderByStartDescIdDesc(
+                            userId, now, position, limit));
+            case FUTURE -> new EntityListing(
+                    pageable -> bookingRepository.findByItem_OwnerAndStartAfterOrderByStartDesc(userId, now, pageable),
+                    (position, limit) -> bookingRepository.findByItem_OwnerAndStartAfterOrderByStartDescIdDesc(
+                            userId, now, position, limit));
+            case WAITING -> ownerBookingsWithStatus(userId, BookingStatus.WAITING);
+            case REJECTED -> ownerBookingsWithStatus(userId, BookingStatus.REJECTED);
+        };
+    }
+
+    private EntityListing ownerBookingsWithStatus(Long userId, BookingStatus status) {
+        return new EntityListing(
+                pageable -> bookingRepository.findByItem_OwnerAndStatusOrderByStartDesc(userId, status, pageable),
+                (position, limit) -> bookingRepository.findByItem_OwnerAndStatusOrderByStartDescIdDesc(
+                        userId, status, position, limit));
+    }
+
+    private List<BookingView> findOwnerBookingViews(Long userId, BookingState state, LocalDateTime now, Pageable pageable) {
+        return switch (state) {
+            case ALL -> bookingRepository.findViewsByOwner(userId, pageable);
+            case CURRENT -> bookingRepository.findCurrentViewsByOwner(userId, now, pageable);
+            case PAST -> bookingRepository.findPastViewsByOwner(userId, now, pageable);
+            case FUTURE -> bookingRepository.findFutureViewsByOwner(userId, now, pageable);
+            case WAITING -> bookingRepository.findViewsByOwnerAndStatus(userId, BookingStatus.WAITING, pageable);
+            case REJECTED -> bookingRepository.findViewsByOwnerAndStatus(userId, BookingStatus.REJECTED, pageable);
+        };
     }
 
     private void validateBookingDates(LocalDateTime start, LocalDateTime end) {
@@ -184,4 +364,8 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Дата начала не может быть в прошлом");
         }
     }
-}
\ No newline at end of file
+
+    private record EntityListing(Function<Pageable, List<Booking>> page,
+                                 BiFunction<ScrollPosition, Limit, Window<Booking>> scroll) {
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier implements ApplicationRunner {
+    static final Map<String, List<String>> REQUIRED_INDEXES = Map.of(
+            "bookings", List.of(
+                    "idx_bookings_booker_start",
+                    "idx_bookings_booker_status_start",
+                    "idx_bookings_item_start",
+                    "idx_bookings_item_status_start"),
+            "items", List.of(
+                    "idx_items_owner",
+                    "idx_items_request"),
+            "comments", List.of("idx_comments_item"),
+            "requests", List.of("idx_requests_requestor_created"));
+
+    private final DataSource dataSource;
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        List<String> missing = findMissingIndexes();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("В схеме БД отсутствуют индексы: " + missing);
+        }
+        log.info("Проверка индексов БД пройдена");
+    }
+
+    List<String> findMissingIndexes() throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, List<String>> entry : REQUIRED_INDEXES.entrySet()) {
+                Set<String> existing = loadIndexNames(metaData, connection.getSchema(), entry.getKey());
+                entry.getValue().stream()
+                        .filter(index -> !existing.contains(index))
+                        .forEach(missing::add);
+            }
+        }
+        return missing;
+    }
+
+    private Set<String> loadIndexNames(DatabaseMetaData metaData, String schema, String table) throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Set<String> names = new HashSet<>();
+        try (ResultSet indexes = metaData.getIndexInfo(null, schema, tableName, false, true)) {
+            while (indexes.next()) {
+                String name = indexes.getString("INDEX_NAME");
+                if (name != null) {
+                    names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+}
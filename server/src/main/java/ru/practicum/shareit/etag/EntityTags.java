@@ -0,0 +1,59 @@
+package ru.practicum.shareit.etag;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.exception.PreconditionFailedException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class EntityTags {
+    private static final String SEPARATOR = "\u001f";
+    private static final Pattern VERSIONED_TAG = Pattern.compile("(?:W/)?\"(\\d{1,18})-[0-9a-f]{32}\"");
+
+    private EntityTags() {
+    }
+
+    public static String of(Object... parts) {
+        return "\"" + digest(parts) + "\"";
+    }
+
+    public static String versioned(long version, Object... parts) {
+        return "\"" + version + "-" + digest(parts) + "\"";
+    }
+
+    public static Long versionOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Matcher matcher = VERSIONED_TAG.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedException("If-Match does not name a known version");
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    public static <T> T conditionalGet(WebRequest request, Supplier<String> currentTag, Supplier<Tagged<T>> load) {
+        boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+        if (conditional && request.checkNotModified(currentTag.get())) {
+            return null;
+        }
+        Tagged<T> loaded = load.get();
+        if (!conditional) {
+            request.checkNotModified(loaded.tag());
+        }
+        return loaded.body();
+    }
+
+    private static String digest(Object... parts) {
+        StringJoiner source = new StringJoiner(SEPARATOR);
+        for (Object part : parts) {
+            source.add(String.valueOf(part));
+        }
+        return DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
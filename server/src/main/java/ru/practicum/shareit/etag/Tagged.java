@@ -0,0 +1,4 @@
+package ru.practicum.shareit.etag;
+
+public record Tagged<T>(T body, String tag) {
+}
@@ -1,14 +1,30 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -17,6 +33,8 @@ import java.util.List;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemDto createItem(
@@ -26,36 +44,73 @@ public class ItemController {
         return itemService.createItem(userId, request);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<StreamingResponseBody> importItems(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody List<NewItemRequest> requests) {
+        log.info("Пакетное создание {} вещей для пользователя ID {}", requests.size(), userId);
+        ItemImportService.Plan plan = itemImportService.plan(userId, requests);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> itemImportService.execute(plan, results -> writeLines(output, results)));
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long itemId,
-            @RequestBody UpdateItemRequest request) {
+            @RequestBody UpdateItemRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Обновление вещи ID {} пользователем ID {}", itemId, userId);
-        return itemService.updateItem(userId, request, itemId);
+        return itemService.updateItem(userId, request, itemId, EntityTags.versionOf(ifMatch));
     }
 
     @GetMapping("/{itemId}")
     public ItemDto getItemById(
             @PathVariable Long itemId,
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            WebRequest webRequest) {
         log.info("Получение вещи ID {} пользователем ID {}", itemId, userId);
-        return itemService.getItemById(userId, itemId);
+        return EntityTags.conditionalGet(webRequest, () -> itemService.getItemTag(userId, itemId),
+                () -> itemService.getItemById(userId, itemId));
     }
 
     @GetMapping
     public List<ItemDto> getUserItems(
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            WebRequest webRequest) {
         log.info("Получение всех вещей пользователя ID {}", userId);
-        return itemService.getUserItems(userId);
+        return EntityTags.conditionalGet(webRequest, () -> itemService.getUserItemsTag(userId),
+                () -> itemService.getUserItems(userId));
     }
 
     @GetMapping("/search")
     public List<ItemDto> searchItems(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @RequestParam(required = false) String text) {
-        log.info("Поиск вещей по тексту '{}' для пользователя ID {}", text, userId);
-        return itemService.searchAvailableItems(userId, text);
+            @RequestParam(required = false) String text,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Поиск вещей по тексту '{}' для пользователя ID {}, from={}, size={}", text, userId, from, size);
+        return itemService.searchAvailableItems(userId, text, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public List<ItemSuggestionDto> suggestItems(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(required = false) String text,
+            @RequestParam(defaultValue = "10") Integer size) {
+        log.debug("Подсказки по названию '{}' для пользователя ID {}", text, userId);
+        return itemService.suggestItems(userId, text, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Получение занятости вещи ID {} с {} по {} пользователем ID {}", itemId, from, to, userId);
+        return itemService.getItemAvailability(itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -66,4 +121,16 @@ public class ItemController {
         log.info("Добавление комментария к вещи ID {} пользователем ID {}", itemId, userId);
         return itemService.addComment(userId, itemId, commentDto);
     }
+
+    private void writeLines(OutputStream output, List<ItemImportResult> results) {
+        try {
+            for (ItemImportResult result : results) {
+                output.write(objectMapper.writeValueAsBytes(result));
+                output.write('\n');
+            }
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.dto;
+
+public record CommentAuthorView(Long itemId, Long id, Long authorVersion) {
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ItemImportResult {
+    private Integer index;
+    private Status status;
+    private ItemDto item;
+    private String error;
+
+    public enum Status {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+}
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.dto;
+
+public record ItemVersionView(Long id, Long owner, Long version) {
+}
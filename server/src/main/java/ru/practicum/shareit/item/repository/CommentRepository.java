@@ -1,6 +1,10 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentAuthorView;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.List;
@@ -8,5 +12,10 @@ import java.util.List;
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByItemId(Long itemId);
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByItemIdIn(List<Long> itemIds);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentAuthorView(c.item.id, c.id, a.version) " +
+            "FROM Comment c JOIN c.author a WHERE c.item.id IN :itemIds ORDER BY c.id")
+    List<CommentAuthorView> findAuthorViewsByItemIdIn(@Param("itemIds") List<Long> itemIds);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemBookingSummary s WHERE s.itemId = :itemId")
+    Optional<ItemBookingSummary> findByIdForUpdate(@Param("itemId") Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemBookingSummary s WHERE s.lastBookerId = :bookerId OR s.nextBookerId = :bookerId "
+            + "ORDER BY s.itemId")
+    List<ItemBookingSummary> findByBookerForUpdate(@Param("bookerId") Long bookerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ItemBookingSummary> findByNextStartLessThanEqualOrderByItemId(LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("INSERT INTO ItemBookingSummary (itemId, refreshedAt) SELECT i.id, :refreshedAt FROM Item i "
+            + "WHERE i.id IN :itemIds")
+    int insertEmpty(@Param("itemIds") Collection<Long> itemIds, @Param("refreshedAt") LocalDateTime refreshedAt);
+}
\ No newline at end of file
@@ -1,19 +1,56 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.config.SecondLevelCacheConfig;
+import ru.practicum.shareit.item.dto.ItemVersionView;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String ITEM_VERSION_SELECT = "SELECT new ru.practicum.shareit.item.dto.ItemVersionView(i.id, i.owner, i.version) " +
+            "FROM Item i ";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.OWNER_ITEMS_REGION)
+    })
     List<Item> findByOwnerOrderById(Long ownerId);
 
+    @Query(ITEM_VERSION_SELECT + "WHERE i.id = :itemId")
+    Optional<ItemVersionView> findVersionViewById(@Param("itemId") Long itemId);
+
+    @Query(ITEM_VERSION_SELECT + "WHERE i.owner = :ownerId ORDER BY i.id")
+    List<ItemVersionView> findVersionViewsByOwner(@Param("ownerId") Long ownerId);
+
+    @Query(ITEM_VERSION_SELECT + "WHERE i.request.id = :requestId ORDER BY i.id")
+    List<ItemVersionView> findVersionViewsByRequestId(@Param("requestId") Long requestId);
+
     @Query("SELECT i FROM Item i WHERE i.available = true AND " +
             "(LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) OR " +
             "LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
-    List<Item> searchAvailableItemsByText(@Param("text") String text);
+    List<Item> searchAvailableItemsByText(@Param("text") String text, Pageable pageable);
+
+    @Query(value = "SELECT * FROM items i WHERE i.is_available = true AND " +
+            "to_tsvector('simple', i.name || ' ' || i.description) @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank(to_tsvector('simple', i.name || ' ' || i.description), " +
+            "to_tsquery('simple', :query)) DESC, i.id " +
+            "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Item> searchAvailableItemsFullText(@Param("query") String query,
+                                            @Param("limit") int limit,
+                                            @Param("offset") int offset);
+
+    List<Item> findByAvailableTrueAndIdGreaterThanOrderById(Long id, Limit limit);
 
     List<Item> findByRequestId(Long requestId);
+
+    List<Item> findByRequestIdIn(List<Long> requestIds);
 }
\ No newline at end of file
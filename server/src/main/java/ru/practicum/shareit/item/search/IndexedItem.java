@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+public record IndexedItem(Long id, String name, String description, Boolean available, Long owner, Long requestId) {
+
+    public static IndexedItem of(Item item) {
+        return new IndexedItem(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getOwner(),
+                item.getRequest() != null ? item.getRequest().getId() : null);
+    }
+}
@@ -0,0 +1,161 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ItemNameSuggestIndex {
+    static final int MAX_CANDIDATES = 500;
+
+    private static final Comparator<Entry> SHORTEST_NAME_FIRST = Comparator
+            .comparingInt((Entry entry) -> entry.normalizedName().length())
+            .thenComparing(Entry::normalizedName)
+            .thenComparing(Entry::id);
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, NavigableSet<Entry>> tokens = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void rebuild(Collection<IndexedItem> items) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            tokens.clear();
+            items.forEach(this::addUnderLock);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAll(Collection<IndexedItem> items) {
+        lock.writeLock().lock();
+        try {
+            items.forEach(item -> {
+                removeUnderLock(item.id());
+                addUnderLock(item);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(IndexedItem item) {
+        lock.writeLock().lock();
+        try {
+            removeUnderLock(item.id());
+            addUnderLock(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeUnderLock(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String text, int limit) {
+        List<String> queryTokens = ItemSearchIndex.tokenize(text);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String query = String.join(" ", queryTokens);
+        String driver = queryTokens.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+
+        lock.readLock().lock();
+        try {
+            Set<Entry> candidates = new LinkedHashSet<>();
+            for (NavigableSet<Entry> tokenEntries : tokens.subMap(driver, true, driver + Character.MAX_VALUE, false)
+                    .values()) {
+                for (Entry entry : tokenEntries) {
+                    if (entry.matchesAll(queryTokens)) {
+                        candidates.add(entry);
+                        if (candidates.size() >= MAX_CANDIDATES) {
+                            break;
+                        }
+                    }
+                }
+                if (candidates.size() >= MAX_CANDIDATES) {
+                    break;
+                }
+            }
+
+            return candidates.stream()
+                    .sorted(Comparator.comparing((Entry entry) -> !entry.normalizedName().startsWith(query))
+                            .thenComparing(SHORTEST_NAME_FIRST))
+                    .limit(limit)
+                    .map(entry -> new Suggestion(entry.id(), entry.name()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addUnderLock(IndexedItem item) {
+        if (!Boolean.TRUE.equals(item.available()) || item.name() == null) {
+            return;
+        }
+
+        List<String> nameTokens = ItemSearchIndex.tokenize(item.name());
+        if (nameTokens.isEmpty()) {
+            return;
+        }
+        Entry entry = new Entry(item.id(), item.name(), String.join(" ", nameTokens), nameTokens);
+        entries.put(item.id(), entry);
+        nameTokens.forEach(token -> tokens.computeIfAbsent(token, key -> new TreeSet<>(SHORTEST_NAME_FIRST)).add(entry));
+    }
+
+    private void removeUnderLock(Long itemId) {
+        Entry entry = entries.remove(itemId);
+        if (entry == null) {
+            return;
+        }
+        for (String token : entry.tokens()) {
+            NavigableSet<Entry> tokenEntries = tokens.get(token);
+            if (tokenEntries != null) {
+                tokenEntries.remove(entry);
+                if (tokenEntries.isEmpty()) {
+                    tokens.remove(token);
+                }
+            }
+        }
+    }
+
+    public record Suggestion(Long id, String name) {
+    }
+
+    private record Entry(Long id, String name, String normalizedName, List<String> tokens) {
+
+        boolean matchesAll(List<String> queryTokens) {
+            for (String queryToken : queryTokens) {
+                if (tokens.stream().noneMatch(token -> token.startsWith(queryToken))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
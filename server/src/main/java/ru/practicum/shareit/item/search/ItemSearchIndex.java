@@ -0,0 +1,168 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+public class ItemSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double EXACT_TERM_BOOST = 2.0;
+
+    private final Map<Long, IndexedItem> documents = new HashMap<>();
+    private final Map<Long, Map<String, Integer>> documentTerms = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    public void rebuild(Collection<IndexedItem> items) {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            documentTerms.clear();
+            postings.clear();
+            items.forEach(this::addUnderLock);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAll(Collection<IndexedItem> items) {
+        lock.writeLock().lock();
+        try {
+            items.forEach(item -> {
+                removeUnderLock(item.id());
+                addUnderLock(item);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(IndexedItem item) {
+        lock.writeLock().lock();
+        try {
+            removeUnderLock(item.id());
+            addUnderLock(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeUnderLock(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<IndexedItem> search(String text, int from, int size) {
+        List<String> queryTokens = tokenize(text);
+        if (queryTokens.isEmpty() || size <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : queryTokens) {
+                Map<Long, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .skip(from)
+                    .limit(size)
+                    .map(entry -> documents.get(entry.getKey()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreToken(String token) {
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = Math.max(documents.size(), 1);
+        for (Map.Entry<String, Map<Long, Integer>> term : postings.subMap(token, true,
+                token + Character.MAX_VALUE, false).entrySet()) {
+            Map<Long, Integer> termPostings = term.getValue();
+            double idf = Math.log(1.0 + (double) documentCount / (1 + termPostings.size()));
+            double boost = term.getKey().equals(token) ? EXACT_TERM_BOOST : 1.0;
+            termPostings.forEach((itemId, weight) ->
+                    scores.merge(itemId, weight * idf * boost, Math::max));
+        }
+        return scores;
+    }
+
+    private void addUnderLock(IndexedItem item) {
+        if (!Boolean.TRUE.equals(item.available())) {
+            return;
+        }
+
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(item.name()).forEach(token -> weights.merge(token, NAME_WEIGHT, Integer::sum));
+        tokenize(item.description()).forEach(token -> weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum));
+
+        documents.put(item.id(), item);
+        documentTerms.put(item.id(), weights);
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(item.id(), weight));
+    }
+
+    private void removeUnderLock(Long itemId) {
+        documents.remove(itemId);
+        Map<String, Integer> terms = documentTerms.remove(itemId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(itemId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
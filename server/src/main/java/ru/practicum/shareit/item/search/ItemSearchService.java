@@ -0,0 +1,205 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.dto.ItemVersionView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.seed.DataSeededEvent;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class ItemSearchService {
+    public static final String ENGINE_MEMORY = "memory";
+    public static final String ENGINE_DATABASE = "database";
+
+    private final ItemSearchIndex index = new ItemSearchIndex();
+    private final ItemNameSuggestIndex suggestIndex = new ItemNameSuggestIndex();
+    private final Set<Long> itemsChangedDuringWarmUp = ConcurrentHashMap.newKeySet();
+    private final ItemRepository itemRepository;
+    private final ItemMapper itemMapper;
+    private final DataSource dataSource;
+    private final String engine;
+    private final int warmUpBatchSize;
+
+    private volatile boolean ready;
+    private volatile boolean warmingUp;
+    private volatile Boolean postgres;
+
+    public ItemSearchService(ItemRepository itemRepository,
+                             ItemMapper itemMapper,
+                             DataSource dataSource,
+                             @Value("${shareit.search.engine:memory}") String engine,
+                             @Value("${shareit.search.warm-up-batch-size:1000}") int warmUpBatchSize) {
+        this.itemRepository = itemRepository;
+        this.itemMapper = itemMapper;
+        this.dataSource = dataSource;
+        this.engine = engine;
+        this.warmUpBatchSize = warmUpBatchSize;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, DataSeededEvent.class})
+    public void warmUp() {
+        ready = false;
+        warmingUp = true;
+        itemsChangedDuringWarmUp.clear();
+        index.rebuild(List.of());
+        suggestIndex.rebuild(List.of());
+
+        long lastId = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findByAvailableTrueAndIdGreaterThanOrderById(lastId, Limit.of(warmUpBatchSize));
+            List<IndexedItem> indexed = batch.stream().map(IndexedItem::of).collect(Collectors.toList());
+            index.addAll(indexed);
+            suggestIndex.addAll(indexed);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == warmUpBatchSize);
+
+        warmingUp = false;
+        List<Long> changed = new ArrayList<>(itemsChangedDuringWarmUp);
+        itemsChangedDuringWarmUp.clear();
+        changed.forEach(id -> {
+            index.remove(id);
+            suggestIndex.remove(id);
+        });
+        itemRepository.findAllById(changed).forEach(item -> {
+            index.index(IndexedItem.of(item));
+            suggestIndex.index(IndexedItem.of(item));
+        });
+
+        ready = true;
+        log.info("Поисковый индекс вещей построен: {} доступных вещей, режим поиска: {}", index.size(), engine);
+    }
+
+    public void onItemSaved(Item item) {
+        IndexedItem snapshot = IndexedItem.of(item);
+        afterCommit(() -> apply(snapshot));
+    }
+
+    public void onOwnerDeleted(Long ownerId) {
+        List<Long> itemIds = itemRepository.findVersionViewsByOwner(ownerId).stream()
+                .map(ItemVersionView::id)
+                .collect(Collectors.toList());
+        if (!itemIds.isEmpty()) {
+            afterCommit(() -> itemIds.forEach(this::remove));
+        }
+    }
+
+    public List<ItemDto> search(String text, int from, int size) {
+        List<String> tokens = ItemSearchIndex.tokenize(text);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        if (ready && ENGINE_MEMORY.equals(engine)) {
+            return index.search(text, from, size).stream()
+                    .map(this::toItemDto)
+                    .collect(Collectors.toList());
+        }
+
+        return searchInDatabase(text, tokens, from, size).stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    public List<ItemSuggestionDto> suggest(String text, int limit) {
+        if (!ready) {
+            return List.of();
+        }
+
+        return suggestIndex.suggest(text, limit).stream()
+                .map(suggestion -> ItemSuggestionDto.builder()
+                        .id(suggestion.id())
+                        .name(suggestion.name())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void apply(IndexedItem item) {
+        if (warmingUp) {
+            itemsChangedDuringWarmUp.add(item.id());
+        }
+        index.index(item);
+        suggestIndex.index(item);
+    }
+
+    private void remove(Long itemId) {
+        if (warmingUp) {
+            itemsChangedDuringWarmUp.add(itemId);
+        }
+        index.remove(itemId);
+        suggestIndex.remove(itemId);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private List<Item> searchInDatabase(String text, List<String> tokens, int from, int size) {
+        if (isPostgres()) {
+            String query = tokens.stream()
+                    .map(token -> token + ":*")
+                    .collect(Collectors.joining(" & "));
+            return itemRepository.searchAvailableItemsFullText(query, size, from);
+        }
+        return itemRepository.searchAvailableItemsByText(text, PageRequest.of(from / size, size));
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            } catch (SQLException e) {
+                log.warn("Не удалось определить тип БД для поиска: {}", e.getMessage());
+                postgres = false;
+            }
+        }
+        return postgres;
+    }
+
+    private ItemDto toItemDto(IndexedItem item) {
+        return ItemDto.builder()
+                .id(item.id())
+                .name(item.name())
+                .description(item.description())
+                .available(item.available())
+                .owner(item.owner())
+                .requestId(item.requestId())
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ItemBookingSummaryService {
+    private static final int ROLL_FORWARD_BATCH_SIZE = 500;
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+
+    public Map<Long, ItemBookingSummary> findSummaries(List<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemBookingSummary> summaries = summaryRepository.findAllById(itemIds).stream()
+                .filter(summary -> !summary.isStale(now))
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+
+        List<Long> missing = itemIds.stream()
+                .filter(itemId -> !summaries.containsKey(itemId))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            summaries.putAll(compute(missing, now));
+        }
+        return summaries;
+    }
+
+    @Transactional
+    public void create(Long itemId) {
+        summaryRepository.save(ItemBookingSummary.builder()
+                .itemId(itemId)
+                .refreshedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Transactional
+    public void createAll(List<Long> itemIds) {
+        if (!itemIds.isEmpty()) {
+            summaryRepository.insertEmpty(itemIds, LocalDateTime.now());
+        }
+    }
+
+    @Transactional
+    public void refresh(Long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        ItemBookingSummary summary = summaryRepository.findByIdForUpdate(itemId)
+                .orElseGet(() -> ItemBookingSummary.builder().itemId(itemId).build());
+        apply(summary, compute(List.of(itemId), now).get(itemId));
+        summaryRepository.save(summary);
+    }
+
+    @Transactional
+    public int onBookerDeleted(Long bookerId) {
+        List<ItemBookingSummary> affected = summaryRepository.findByBookerForUpdate(bookerId);
+        Map<Long, ItemBookingSummary> computed = compute(affected.stream()
+                .map(ItemBookingSummary::getItemId)
+                .collect(Collectors.toList()), LocalDateTime.now());
+        affected.forEach(summary -> apply(summary, computed.get(summary.getItemId())));
+        return affected.size();
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.summary.roll-forward-delay:PT1M}",
+            initialDelayString = "${shareit.booking.summary.roll-forward-delay:PT1M}")
+    @Transactional
+    public int rollForward() {
+        LocalDateTime now = LocalDateTime.now();
+        int refreshed = 0;
+        List<ItemBookingSummary> stale;
+        do {
+            stale = summaryRepository.findByNextStartLessThanEqualOrderByItemId(now, Limit.of(ROLL_FORWARD_BATCH_SIZE));
+            Map<Long, ItemBookingSummary> computed = compute(stale.stream()
+                    .map(ItemBookingSummary::getItemId)
+                    .collect(Collectors.toList()), now);
+            stale.forEach(summary -> apply(summary, computed.get(summary.getItemId())));
+            summaryRepository.flush();
+            refreshed += stale.size();
+        } while (stale.size() == ROLL_FORWARD_BATCH_SIZE);
+
+        if (refreshed > 0) {
+            log.info("Обновлены сводки бронирований для {} вещей", refreshed);
+        }
+        return refreshed;
+    }
+
+    private Map<Long, ItemBookingSummary> compute(List<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingSummary> result = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return result;
+        }
+        itemIds.forEach(itemId -> result.put(itemId, ItemBookingSummary.builder()
+                .itemId(itemId)
+                .refreshedAt(now)
+                .build()));
+
+        groupFirstByItemId(bookingRepository.findLastBookingsByItemIds(itemIds, BookingStatus.APPROVED, now))
+                .forEach((itemId, booking) -> {
+                    ItemBookingSummary summary = result.get(itemId);
+                    summary.setLastBookingId(booking.getId());
+                    summary.setLastBookerId(booking.getBooker().getId());
+                });
+        groupFirstByItemId(bookingRepository.findNextBookingsByItemIds(itemIds, BookingStatus.APPROVED, now))
+                .forEach((itemId, booking) -> {
+                    ItemBookingSummary summary = result.get(itemId);
+                    summary.setNextBookingId(booking.getId());
+                    summary.setNextBookerId(booking.getBooker().getId());
+                    summary.setNextStart(booking.getStart());
+                });
+        return result;
+    }
+
+    private void apply(ItemBookingSummary target, ItemBookingSummary computed) {
+        target.setLastBookingId(computed.getLastBookingId());
+        target.setLastBookerId(computed.getLastBookerId());
+        target.setNextBookingId(computed.getNextBookingId());
+        target.setNextBookerId(computed.getNextBookerId());
+        target.setNextStart(computed.getNextStart());
+        target.setRefreshedAt(computed.getRefreshedAt());
+    }
+
+    private Map<Long, Booking> groupFirstByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first.getId() < second.getId() ? first : second));
+    }
+}
@@ -0,0 +1,185 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchService;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Service
+@Slf4j
+public class ItemImportService {
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserExistenceService userExistenceService;
+    private final ItemMapper itemMapper;
+    private final ItemSearchService itemSearchService;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxItems;
+    private final int chunkSize;
+
+    public ItemImportService(ItemRepository itemRepository,
+                             ItemRequestRepository itemRequestRepository,
+                             UserExistenceService userExistenceService,
+                             ItemMapper itemMapper,
+                             ItemSearchService itemSearchService,
+                             ItemBookingSummaryService itemBookingSummaryService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${shareit.item.import.max-items:5000}") int maxItems,
+                             @Value("${shareit.item.import.chunk-size:500}") int chunkSize,
+                             @Value("${shareit.item.import.chunk-timeout:PT30S}") Duration chunkTimeout) {
+        this.itemRepository = itemRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.userExistenceService = userExistenceService;
+        this.itemMapper = itemMapper;
+        this.itemSearchService = itemSearchService;
+        this.itemBookingSummaryService = itemBookingSummaryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout((int) chunkTimeout.toSeconds());
+        this.maxItems = maxItems;
+        this.chunkSize = chunkSize;
+    }
+
+    public Plan plan(Long userId, List<NewItemRequest> requests) {
+        if (!userExistenceService.exists(userId)) {
+            throw new NotFoundException("User not found");
+        }
+        if (requests == null || requests.isEmpty()) {
+            throw new ValidationException("Items must not be empty");
+        }
+        if (requests.size() > maxItems) {
+            throw new ValidationException("Too many items, maximum is " + maxItems);
+        }
+
+        Set<Long> requestIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(NewItemRequest::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingRequestIds = requestIds.isEmpty()
+                ? Set.of()
+                : itemRequestRepository.findExistingIds(requestIds);
+
+        List<Row> rows = new ArrayList<>(requests.size());
+        List<ItemImportResult> rejected = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            NewItemRequest request = requests.get(index);
+            String error = validate(request, existingRequestIds);
+            if (error == null) {
+                rows.add(new Row(index, request));
+            } else {
+                rejected.add(ItemImportResult.builder()
+                        .index(index)
+                        .status(ItemImportResult.Status.REJECTED)
+                        .error(error)
+                        .build());
+            }
+        }
+        return new Plan(userId, rows, rejected);
+    }
+
+    public void execute(Plan plan, Consumer<List<ItemImportResult>> results) {
+        if (!plan.rejected().isEmpty()) {
+            results.accept(plan.rejected());
+        }
+
+        int created = 0;
+        for (int from = 0; from < plan.rows().size(); from += chunkSize) {
+            List<Row> chunk = plan.rows().subList(from, Math.min(from + chunkSize, plan.rows().size()));
+            List<ItemImportResult> chunkResults;
+            try {
+                chunkResults = transactionTemplate.execute(status -> insert(plan.ownerId(), chunk));
+                created += chunk.size();
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Не удалось сохранить {} вещей пользователя ID {}: {}", chunk.size(), plan.ownerId(),
+                        e.getMessage());
+                chunkResults = chunk.stream()
+                        .map(row -> ItemImportResult.builder()
+                                .index(row.index())
+                                .status(ItemImportResult.Status.FAILED)
+                                .error("Items could not be saved")
+                                .build())
+                        .collect(Collectors.toList());
+            }
+            results.accept(chunkResults);
+        }
+
+        log.info("Импорт вещей пользователя ID {}: создано {}, отклонено {}, с ошибкой {}", plan.ownerId(),
+                created, plan.rejected().size(), plan.rows().size() - created);
+    }
+
+    private List<ItemImportResult> insert(Long ownerId, List<Row> chunk) {
+        List<Item> items = chunk.stream()
+                .map(row -> {
+                    Item item = itemMapper.toItem(row.request());
+                    item.setOwner(ownerId);
+                    if (row.request().getRequestId() != null) {
+                        item.setRequest(itemRequestRepository.getReferenceById(row.request().getRequestId()));
+                    }
+                    return item;
+                })
+                .collect(Collectors.toList());
+
+        List<Item> saved = itemRepository.saveAll(items);
+        itemRepository.flush();
+        itemBookingSummaryService.createAll(saved.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList()));
+        saved.forEach(itemSearchService::onItemSaved);
+
+        return IntStream.range(0, chunk.size())
+                .mapToObj(i -> ItemImportResult.builder()
+                        .index(chunk.get(i).index())
+                        .status(ItemImportResult.Status.CREATED)
+                        .item(itemMapper.toItemDto(saved.get(i)))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static String validate(NewItemRequest request, Set<Long> existingRequestIds) {
+        if (request == null) {
+            return "Item must not be null";
+        }
+        if (request.getName() == null || request.getName().isBlank()) {
+            return "Name must not be blank";
+        }
+        if (request.getDescription() == null || request.getDescription().isBlank()) {
+            return "Description must not be blank";
+        }
+        if (request.getAvailable() == null) {
+            return "Availability must be specified";
+        }
+        if (request.getRequestId() != null && !existingRequestIds.contains(request.getRequestId())) {
+            return "Request not found";
+        }
+        return null;
+    }
+
+    public record Plan(Long ownerId, List<Row> rows, List<ItemImportResult> rejected) {
+    }
+
+    public record Row(int index, NewItemRequest request) {
+    }
+}
@@ -1,22 +1,34 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     ItemDto createItem(Long userId, NewItemRequest request);
 
-    ItemDto updateItem(Long userId, UpdateItemRequest request, Long itemId);
+    ItemDto updateItem(Long userId, UpdateItemRequest request, Long itemId, Long expectedVersion);
 
-    ItemDto getItemById(Long userId, Long itemId);
+    Tagged<ItemDto> getItemById(Long userId, Long itemId);
 
-    List<ItemDto> getUserItems(Long userId);
+    String getItemTag(Long userId, Long itemId);
 
-    List<ItemDto> searchAvailableItems(Long userId, String text);
+    Tagged<List<ItemDto>> getUserItems(Long userId);
+
+    String getUserItemsTag(Long userId);
+
+    List<ItemDto> searchAvailableItems(Long userId, String text, Integer from, Integer size);
+
+    List<ItemSuggestionDto> suggestItems(Long userId, String text, Integer size);
+
+    ItemAvailabilityDto getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 
     CommentDto addComment(Long userId, Long itemId, CommentDto commentDto);
 }
\ No newline at end of file
@@ -2,29 +2,47 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityService;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.exception.EliminatingConflict;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.PreconditionFailedException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.CommentAuthorView;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.dto.ItemVersionView;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchService;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -33,12 +51,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final Duration MAX_AVAILABILITY_RANGE = Duration.ofDays(366);
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemMapper itemMapper;
+    private final ItemSearchService itemSearchService;
+    private final BookingAvailabilityService bookingAvailabilityService;
+    private final ItemBookingSummaryService itemBookingSummaryService;
 
     @Override
     @Transactional
@@ -57,55 +81,157 @@ public class ItemServiceImpl implements ItemService {
         item.setRequest(itemRequest);
 
         item = itemRepository.save(item);
+        itemBookingSummaryService.create(item.getId());
+        itemSearchService.onItemSaved(item);
         return itemMapper.toItemDto(item);
     }
 
     @Override
     @Transactional
-    public ItemDto updateItem(Long userId, UpdateItemRequest request, Long itemId) {
+    public ItemDto updateItem(Long userId, UpdateItemRequest request, Long itemId, Long expectedVersion) {
         Item existingItem = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found"));
 
         if (!existingItem.getOwner().equals(userId)) {
             throw new NotFoundException("Only owner can update item");
         }
+        if (expectedVersion != null && !expectedVersion.equals(existingItem.getVersion())) {
+            throw new PreconditionFailedException("Item was modified by another request");
+        }
 
         itemMapper.updateItemFromRequest(request, existingItem);
-        existingItem = itemRepository.save(existingItem);
+        try {
+            existingItem = itemRepository.saveAndFlush(existingItem);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Item {} was modified concurrently", itemId);
+            throw new EliminatingConflict("Item was modified by another request");
+        }
+        itemSearchService.onItemSaved(existingItem);
         return itemMapper.toItemDto(existingItem);
     }
 
     @Override
-    public ItemDto getItemById(Long userId, Long itemId) {
+    public Tagged<ItemDto> getItemById(Long userId, Long itemId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found"));
 
+        Map<Long, ItemBookingSummary> summaries = item.getOwner().equals(userId)
+                ? itemBookingSummaryService.findSummaries(List.of(itemId))
+                : Map.of();
+        List<Comment> comments = commentRepository.findByItemId(itemId);
+
         ItemDto itemDto = itemMapper.toItemDto(item);
-        enrichItemDtoWithBookingsAndComments(itemDto, item, userId);
+        Optional.ofNullable(summaries.get(itemId))
+                .ifPresent(summary -> applyBookingSummary(itemDto, summary));
+        itemDto.setComments(comments.stream()
+                .map(this::toCommentDto)
+                .collect(Collectors.toList()));
 
-        return itemDto;
+        return new Tagged<>(itemDto, EntityTags.versioned(item.getVersion(),
+                itemsTagParts(List.of(toVersionView(item)), summaries, toAuthorViews(comments))));
     }
 
     @Override
-    public List<ItemDto> getUserItems(Long userId) {
-        return itemRepository.findByOwnerOrderById(userId).stream()
+    public String getItemTag(Long userId, Long itemId) {
+        ItemVersionView item = itemRepository.findVersionViewById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item not found"));
+
+        Map<Long, ItemBookingSummary> summaries = item.owner().equals(userId)
+                ? itemBookingSummaryService.findSummaries(List.of(itemId))
+                : Map.of();
+        return EntityTags.versioned(item.version(), itemsTagParts(List.of(item), summaries,
+                commentRepository.findAuthorViewsByItemIdIn(List.of(itemId))));
+    }
+
+    @Override
+    public Tagged<List<ItemDto>> getUserItems(Long userId) {
+        List<Item> items = itemRepository.findByOwnerOrderById(userId);
+        if (items.isEmpty()) {
+            return new Tagged<>(List.of(), EntityTags.of());
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, ItemBookingSummary> summaries = itemBookingSummaryService.findSummaries(itemIds);
+        List<Comment> itemComments = commentRepository.findByItemIdIn(itemIds);
+        Map<Long, List<CommentDto>> comments = itemComments.stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(this::toCommentDto, Collectors.toList())));
+
+        List<ItemDto> itemDtos = items.stream()
                 .map(item -> {
                     ItemDto itemDto = itemMapper.toItemDto(item);
-                    enrichItemDtoWithBookingsAndComments(itemDto, item, userId);
+                    Optional.ofNullable(summaries.get(item.getId()))
+                            .ifPresent(summary -> applyBookingSummary(itemDto, summary));
+                    itemDto.setComments(comments.getOrDefault(item.getId(), List.of()));
                     return itemDto;
                 })
                 .collect(Collectors.toList());
+        return new Tagged<>(itemDtos, EntityTags.of(itemsTagParts(items.stream()
+                .map(this::toVersionView)
+                .collect(Collectors.toList()), summaries, toAuthorViews(itemComments))));
     }
 
     @Override
-    public List<ItemDto> searchAvailableItems(Long userId, String text) {
+    public String getUserItemsTag(Long userId) {
+        List<ItemVersionView> items = itemRepository.findVersionViewsByOwner(userId);
+        if (items.isEmpty()) {
+            return EntityTags.of();
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(ItemVersionView::id)
+                .collect(Collectors.toList());
+        return EntityTags.of(itemsTagParts(items, itemBookingSummaryService.findSummaries(itemIds),
+                commentRepository.findAuthorViewsByItemIdIn(itemIds)));
+    }
+
+    @Override
+    public List<ItemDto> searchAvailableItems(Long userId, String text, Integer from, Integer size) {
         if (text == null || text.isBlank()) {
             return List.of();
         }
 
-        return itemRepository.searchAvailableItemsByText(text).stream()
-                .map(itemMapper::toItemDto)
+        return itemSearchService.search(text, from, size);
+    }
+
+    @Override
+    public ItemAvailabilityDto getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new ValidationException("Range start must be before range end");
+        }
+        if (Duration.between(from, to).compareTo(MAX_AVAILABILITY_RANGE) > 0) {
+            throw new ValidationException("Availability range must not exceed " + MAX_AVAILABILITY_RANGE.toDays() + " days");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item not found");
+        }
+
+        List<ItemAvailabilityDto.Period> busy = bookingAvailabilityService.findBusyPeriods(itemId, from, to).stream()
+                .map(period -> ItemAvailabilityDto.Period.builder()
+                        .start(period.start())
+                        .end(period.end())
+                        .build())
                 .collect(Collectors.toList());
+
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(busy)
+                .build();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ItemSuggestionDto> suggestItems(Long userId, String text, Integer size) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        return itemSearchService.suggest(text, Math.min(size, MAX_SUGGESTIONS));
     }
 
     @Override
@@ -135,52 +261,55 @@ public class ItemServiceImpl implements ItemService {
 
         comment = commentRepository.save(comment);
 
-        return CommentDto.builder()
-                .id(comment.getId())
-                .text(comment.getText())
-                .authorName(comment.getAuthor().getName())
-                .created(comment.getCreated())
-                .build();
+        return toCommentDto(comment);
     }
 
-    private void enrichItemDtoWithBookingsAndComments(ItemDto itemDto, Item item, Long userId) {
-        if (item.getOwner().equals(userId)) {
-            LocalDateTime now = LocalDateTime.now();
-
-            Optional<Booking> lastBooking = bookingRepository
-                    .findFirstByItemIdAndStatusAndStartBeforeOrderByEndDesc(
-                            item.getId(), BookingStatus.APPROVED, now);
-
-            lastBooking.ifPresent(booking -> {
-                ItemDto.BookingInfo lastBookingInfo = ItemDto.BookingInfo.builder()
-                        .id(booking.getId())
-                        .bookerId(booking.getBooker().getId())
-                        .build();
-                itemDto.setLastBooking(lastBookingInfo);
-            });
-
-            Optional<Booking> nextBooking = bookingRepository
-                    .findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
-                            item.getId(), BookingStatus.APPROVED, now);
-
-            nextBooking.ifPresent(booking -> {
-                ItemDto.BookingInfo nextBookingInfo = ItemDto.BookingInfo.builder()
-                        .id(booking.getId())
-                        .bookerId(booking.getBooker().getId())
-                        .build();
-                itemDto.setNextBooking(nextBookingInfo);
-            });
+    private Object[] itemsTagParts(List<ItemVersionView> items, Map<Long, ItemBookingSummary> summaries,
+                                   List<CommentAuthorView> comments) {
+        List<Object> parts = new ArrayList<>();
+        for (ItemVersionView item : items) {
+            ItemBookingSummary summary = summaries.getOrDefault(item.id(), new ItemBookingSummary());
+            parts.addAll(Arrays.asList(item.id(), item.version(),
+                    summary.getLastBookingId(), summary.getLastBookerId(),
+                    summary.getNextBookingId(), summary.getNextBookerId()));
         }
+        parts.addAll(comments);
+        return parts.toArray();
+    }
 
-        List<CommentDto> comments = commentRepository.findByItemId(item.getId()).stream()
-                .map(comment -> CommentDto.builder()
-                        .id(comment.getId())
-                        .text(comment.getText())
-                        .authorName(comment.getAuthor().getName())
-                        .created(comment.getCreated())
-                        .build())
+    private ItemVersionView toVersionView(Item item) {
+        return new ItemVersionView(item.getId(), item.getOwner(), item.getVersion());
+    }
+
+    private List<CommentAuthorView> toAuthorViews(List<Comment> comments) {
+        return comments.stream()
+                .sorted(Comparator.comparing(Comment::getId))
+                .map(comment -> new CommentAuthorView(comment.getItem().getId(), comment.getId(),
+                        comment.getAuthor().getVersion()))
                 .collect(Collectors.toList());
+    }
+
+    private void applyBookingSummary(ItemDto itemDto, ItemBookingSummary summary) {
+        if (summary.getLastBookingId() != null) {
+            itemDto.setLastBooking(ItemDto.BookingInfo.builder()
+                    .id(summary.getLastBookingId())
+                    .bookerId(summary.getLastBookerId())
+                    .build());
+        }
+        if (summary.getNextBookingId() != null) {
+            itemDto.setNextBooking(ItemDto.BookingInfo.builder()
+                    .id(summary.getNextBookingId())
+                    .bookerId(summary.getNextBookerId())
+                    .build());
+        }
+    }
 
-        itemDto.setComments(comments);
+    private CommentDto toCommentDto(Comment comment) {
+        return CommentDto.builder()
+                .id(comment.getId())
+                .text(comment.getText())
+                .authorName(comment.getAuthor().getName())
+                .created(comment.getCreated())
+                .build();
     }
 }
\ No newline at end of file
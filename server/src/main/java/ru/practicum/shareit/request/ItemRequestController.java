@@ -3,6 +3,8 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -43,8 +45,10 @@ public class ItemRequestController {
     @GetMapping("/{requestId}")
     public ItemRequestResponse getRequestById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @PathVariable Long requestId) {
+            @PathVariable Long requestId,
+            WebRequest webRequest) {
         log.info("Получение запроса ID {} пользователем ID {}", requestId, userId);
-        return itemRequestService.getRequestById(userId, requestId);
+        return EntityTags.conditionalGet(webRequest, () -> itemRequestService.getRequestTag(userId, requestId),
+                () -> itemRequestService.getRequestById(userId, requestId));
     }
 }
\ No newline at end of file
@@ -2,9 +2,14 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findByRequestorIdOrderByCreatedDesc(Long requestorId);
@@ -12,4 +17,10 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
     List<ItemRequest> findByRequestorIdNotOrderByCreatedDesc(Long requestorId, Pageable pageable);
 
     List<ItemRequest> findByRequestorIdNotOrderByCreatedDesc(Long requestorId);
+
+    @Query("SELECT r.version FROM ItemRequest r WHERE r.id = :requestId")
+    Optional<Long> findVersionById(@Param("requestId") Long requestId);
+
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.id IN :requestIds")
+    Set<Long> findExistingIds(@Param("requestIds") Collection<Long> requestIds);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 
@@ -12,5 +13,7 @@ public interface ItemRequestService {
 
     List<ItemRequestResponse> getOtherUsersRequests(Long userId, Integer from, Integer size);
 
-    ItemRequestResponse getRequestById(Long userId, Long requestId);
+    Tagged<ItemRequestResponse> getRequestById(Long userId, Long requestId);
+
+    String getRequestTag(Long userId, Long requestId);
 }
\ No newline at end of file
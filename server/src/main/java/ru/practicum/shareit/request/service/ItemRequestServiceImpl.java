@@ -6,8 +6,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemVersionView;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
@@ -16,9 +20,13 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +36,7 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
+    private final UserExistenceService userExistenceService;
     private final ItemRepository itemRepository;
     private final ItemRequestMapper itemRequestMapper;
 
@@ -47,54 +56,100 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestResponse> getUserRequests(Long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userExistenceService.exists(userId)) {
             throw new NotFoundException("Пользователь не найден");
         }
 
-        return itemRequestRepository.findByRequestorIdOrderByCreatedDesc(userId).stream()
-                .map(this::toItemRequestResponseWithItems)
-                .collect(Collectors.toList());
+        return toItemRequestResponsesWithItems(itemRequestRepository.findByRequestorIdOrderByCreatedDesc(userId));
     }
 
     @Override
     public List<ItemRequestResponse> getOtherUsersRequests(Long userId, Integer from, Integer size) {
-        if (!userRepository.existsById(userId)) {
+        if (!userExistenceService.exists(userId)) {
             throw new NotFoundException("Пользователь не найден");
         }
 
         Pageable pageable = PageRequest.of(from / size, size);
-        return itemRequestRepository.findByRequestorIdNotOrderByCreatedDesc(userId, pageable).stream()
-                .map(this::toItemRequestResponseWithItems)
-                .collect(Collectors.toList());
+        return toItemRequestResponsesWithItems(
+                itemRequestRepository.findByRequestorIdNotOrderByCreatedDesc(userId, pageable));
     }
 
     @Override
-    public ItemRequestResponse getRequestById(Long userId, Long requestId) {
-        if (!userRepository.existsById(userId)) {
+    public Tagged<ItemRequestResponse> getRequestById(Long userId, Long requestId) {
+        if (!userExistenceService.exists(userId)) {
             throw new NotFoundException("Пользователь не найден");
         }
 
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Запрос не найден"));
+        List<Item> items = itemRepository.findByRequestId(requestId);
+
+        List<Object> parts = new ArrayList<>(List.of(requestId, itemRequest.getVersion()));
+        items.stream()
+                .sorted(Comparator.comparing(Item::getId))
+                .map(item -> new ItemVersionView(item.getId(), item.getOwner(), item.getVersion()))
+                .forEach(parts::add);
+        return new Tagged<>(toItemRequestResponse(itemRequest, items.stream()
+                .map(this::toItemDto)
+                .collect(Collectors.toList())), EntityTags.of(parts.toArray()));
+    }
 
-        return toItemRequestResponseWithItems(itemRequest);
+    @Override
+    public String getRequestTag(Long userId, Long requestId) {
+        if (!userExistenceService.exists(userId)) {
+            throw new NotFoundException("Пользователь не найден");
+        }
+
+        Long version = itemRequestRepository.findVersionById(requestId)
+                .orElseThrow(() -> new NotFoundException("Запрос не найден"));
+
+        List<Object> parts = new ArrayList<>(List.of(requestId, version));
+        parts.addAll(itemRepository.findVersionViewsByRequestId(requestId));
+        return EntityTags.of(parts.toArray());
     }
 
     private ItemRequestResponse toItemRequestResponseWithItems(ItemRequest itemRequest) {
         List<ItemDto> items = itemRepository.findByRequestId(itemRequest.getId()).stream()
-                .map(item -> ItemDto.builder()
-                        .id(item.getId())
-                        .name(item.getName())
-                        .description(item.getDescription())
-                        .available(item.getAvailable())
-                        .owner(item.getOwner())
-                        .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
-                        .build())
+                .map(this::toItemDto)
+                .collect(Collectors.toList());
+
+        return toItemRequestResponse(itemRequest, items);
+    }
+
+    private List<ItemRequestResponse> toItemRequestResponsesWithItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
                 .collect(Collectors.toList());
 
+        Map<Long, List<ItemDto>> itemsByRequestId = itemRepository.findByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(this::toItemDto, Collectors.toList())));
+
+        return itemRequests.stream()
+                .map(itemRequest -> toItemRequestResponse(itemRequest,
+                        itemsByRequestId.getOrDefault(itemRequest.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private ItemRequestResponse toItemRequestResponse(ItemRequest itemRequest, List<ItemDto> items) {
         ItemRequestResponse response = itemRequestMapper.toItemRequestResponse(itemRequest);
         response.setItems(items);
 
         return response;
     }
+
+    private ItemDto toItemDto(Item item) {
+        return ItemDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .owner(item.getOwner())
+                .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
+                .build();
+    }
 }
\ No newline at end of file
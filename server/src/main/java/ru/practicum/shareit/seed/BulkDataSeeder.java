@@ -0,0 +1,176 @@
+package ru.practicum.shareit.seed;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class BulkDataSeeder {
+    private static final int ID_ALLOCATION = 50;
+
+    private static final String INSERT_USER = "INSERT INTO users (id, name, email) VALUES (?, ?, ?)";
+    private static final String INSERT_REQUEST =
+            "INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_ITEM = "INSERT INTO items (id, name, description, is_available, owner_id, "
+            + "request_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BOOKING = "INSERT INTO bookings (id, start_date, end_date, item_id, "
+            + "booker_id, status) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_COMMENT =
+            "INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_SUMMARIES = "INSERT INTO item_booking_summary (item_id, next_start, "
+            + "refreshed_at) SELECT i.id, TIMESTAMP '1970-01-01 00:00:00', CURRENT_TIMESTAMP FROM items i "
+            + "WHERE NOT EXISTS (SELECT 1 FROM item_booking_summary s WHERE s.item_id = i.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SequenceSupport sequenceSupport;
+
+    private volatile boolean applicationReady;
+
+    public BulkDataSeeder(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          EntityManagerFactory entityManagerFactory, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.sequenceSupport = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        applicationReady = true;
+    }
+
+    public SeedResult seed(SeedProperties properties) {
+        SeedPlan plan = new SeedPlan(properties);
+        long started = System.nanoTime();
+
+        SeedPlan.FirstIds ids = new SeedPlan.FirstIds(nextId("users"),
+                reserveIds("requests_seq", properties.getRequests()),
+                reserveIds("items_seq", properties.getItems()),
+                reserveIds("bookings_seq", plan.bookings()),
+                reserveIds("comments_seq", plan.bookings()));
+        int comments;
+        try (BatchWriter writer = new BatchWriter(properties.getBatchSize())) {
+            comments = plan.generate(ids, writer);
+        }
+        jdbcTemplate.update(INSERT_SUMMARIES);
+
+        restartIdentity("users", ids.user() + properties.getUsers());
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+
+        SeedResult result = new SeedResult(ids.user(), properties.getUsers(), ids.request(), properties.getRequests(),
+                ids.item(), properties.getItems(), plan.bookings(), comments);
+        log.info("Сгенерированы данные за {} мс: пользователей {} (с ID {}), запросов {}, вещей {} (с ID {}), "
+                        + "бронирований {}, комментариев {}", Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                result.users(), result.firstUserId(), result.requests(), result.items(), result.firstItemId(),
+                result.bookings(), result.comments());
+        if (applicationReady) {
+            eventPublisher.publishEvent(new DataSeededEvent(result));
+        }
+        return result;
+    }
+
+    private long nextId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return maxId == null ? 1 : maxId + 1;
+    }
+
+    private long reserveIds(String sequence, int count) {
+        Long firstId = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(sequence), Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (firstId + count + ID_ALLOCATION - 1));
+        return firstId;
+    }
+
+    private void restartIdentity(String table, long nextId) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId);
+    }
+
+    private class BatchWriter implements SeedPlan.Rows, AutoCloseable {
+        private final Map<String, List<Object[]>> rows = new LinkedHashMap<>();
+        private final int batchSize;
+        private int pending;
+
+        BatchWriter(int batchSize) {
+            this.batchSize = batchSize;
+            for (String sql : List.of(INSERT_USER, INSERT_REQUEST, INSERT_ITEM, INSERT_BOOKING, INSERT_COMMENT)) {
+                rows.put(sql, new ArrayList<>());
+            }
+        }
+
+        @Override
+        public void user(long id, String name, String email) {
+            add(INSERT_USER, id, name, email);
+        }
+
+        @Override
+        public void request(long id, String description, long requestorId, LocalDateTime created) {
+            add(INSERT_REQUEST, id, description, requestorId, created);
+        }
+
+        @Override
+        public void item(long id, String name, String description, boolean available, long ownerId,
+                         Long requestId) {
+            add(INSERT_ITEM, id, name, description, available, ownerId, requestId);
+        }
+
+        @Override
+        public void booking(long id, LocalDateTime start, LocalDateTime end, long itemId, long bookerId,
+                            BookingStatus status) {
+            add(INSERT_BOOKING, id, start, end, itemId, bookerId, status.name());
+        }
+
+        @Override
+        public void comment(long id, String text, long itemId, long authorId, LocalDateTime created) {
+            add(INSERT_COMMENT, id, text, itemId, authorId, created);
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+
+        private void add(String sql, Object... row) {
+            rows.get(sql).add(row);
+            if (++pending == batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (pending == 0) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> rows.forEach((sql, batch) -> {
+                if (!batch.isEmpty()) {
+                    jdbcTemplate.batchUpdate(sql, batch);
+                    batch.clear();
+                }
+            }));
+            pending = 0;
+        }
+    }
+}
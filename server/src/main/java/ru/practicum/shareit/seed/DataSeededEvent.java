@@ -0,0 +1,4 @@
+package ru.practicum.shareit.seed;
+
+public record DataSeededEvent(SeedResult result) {
+}
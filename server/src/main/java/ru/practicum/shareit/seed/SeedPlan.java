@@ -0,0 +1,129 @@
+package ru.practicum.shareit.seed;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class SeedPlan {
+    public static final List<String> VOCABULARY = List.of("дрель", "пила", "лестница", "палатка", "велосипед",
+            "шуруповёрт", "перфоратор", "каяк", "проектор", "фотоаппарат", "газонокосилка", "мойка",
+            "генератор", "спальник", "самокат", "штатив");
+
+    private final SeedProperties properties;
+
+    public SeedPlan(SeedProperties properties) {
+        if (properties.getUsers() < 2) {
+            throw new IllegalArgumentException("Для генерации бронирований нужны хотя бы два пользователя");
+        }
+        this.properties = properties;
+    }
+
+    public int bookings() {
+        return properties.getItems() > 0 ? properties.getBookings() : 0;
+    }
+
+    public int generate(FirstIds ids, Rows rows) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        LocalDateTime anchor = properties.getAnchor() != null
+                ? properties.getAnchor()
+                : LocalDate.now().atStartOfDay();
+        LocalDateTime historyStart = anchor.minusDays(properties.getHistoryDays());
+
+        for (int i = 0; i < properties.getUsers(); i++) {
+            long id = ids.user() + i;
+            rows.user(id, "Пользователь " + id, "user" + id + "@seed.shareit.ru");
+        }
+
+        for (int i = 0; i < properties.getRequests(); i++) {
+            String word = VOCABULARY.get(random.nextInt(VOCABULARY.size()));
+            rows.request(ids.request() + i, "Нужен " + word + " на выходные",
+                    ids.user() + random.nextInt(properties.getUsers()),
+                    historyStart.plusMinutes(random.nextLong(Duration.ofDays(properties.getHistoryDays())
+                            .toMinutes())));
+        }
+
+        ZipfSampler ownerSampler = new ZipfSampler(properties.getUsers(), properties.getOwnerSkew());
+        int[] itemOwners = new int[properties.getItems()];
+        for (int i = 0; i < properties.getItems(); i++) {
+            itemOwners[i] = ownerSampler.sample(random);
+            String word = VOCABULARY.get(random.nextInt(VOCABULARY.size()));
+            Long requestId = properties.getRequests() > 0 && random.nextDouble() < properties.getRequestedItemShare()
+                    ? ids.request() + random.nextInt(properties.getRequests())
+                    : null;
+            rows.item(ids.item() + i, word + " №" + (ids.item() + i), "Сдаётся " + word + " в хорошем состоянии",
+                    random.nextInt(10) != 0, ids.user() + itemOwners[i], requestId);
+        }
+
+        return bookings() > 0 ? generateBookings(ids, rows, random, anchor, historyStart, itemOwners) : 0;
+    }
+
+    private int generateBookings(FirstIds ids, Rows rows, SplittableRandom random, LocalDateTime anchor,
+                                 LocalDateTime historyStart, int[] itemOwners) {
+        ZipfSampler itemSampler = new ZipfSampler(properties.getItems(), properties.getItemSkew());
+        LocalDateTime[] itemCursors = new LocalDateTime[properties.getItems()];
+        int comments = 0;
+
+        for (int i = 0; i < properties.getBookings(); i++) {
+            int item = itemSampler.sample(random);
+            if (itemCursors[item] == null) {
+                itemCursors[item] = historyStart.plusHours(random.nextInt(24 * 30));
+            }
+            LocalDateTime start = itemCursors[item];
+            LocalDateTime end = start.plusHours(1 + random.nextInt(72));
+            itemCursors[item] = end.plusHours(random.nextInt(96));
+
+            int booker = random.nextInt(properties.getUsers());
+            if (booker == itemOwners[item]) {
+                booker = (booker + 1) % properties.getUsers();
+            }
+            BookingStatus status = status(random, start, end, anchor);
+            rows.booking(ids.booking() + i, start, end, ids.item() + item, ids.user() + booker, status);
+
+            if (status == BookingStatus.APPROVED && end.isBefore(anchor)
+                    && random.nextDouble() < properties.getCommentShare()) {
+                rows.comment(ids.comment() + comments, "Всё работало отлично, рекомендую",
+                        ids.item() + item, ids.user() + booker, end.plusHours(1 + random.nextInt(48)));
+                comments++;
+            }
+        }
+        return comments;
+    }
+
+    private static BookingStatus status(SplittableRandom random, LocalDateTime start, LocalDateTime end,
+                                        LocalDateTime anchor) {
+        int roll = random.nextInt(20);
+        if (end.isBefore(anchor)) {
+            return roll < 17 ? BookingStatus.APPROVED : roll < 19 ? BookingStatus.REJECTED : BookingStatus.CANCELLED;
+        }
+        if (start.isAfter(anchor)) {
+            return roll < 10 ? BookingStatus.WAITING : BookingStatus.APPROVED;
+        }
+        return BookingStatus.APPROVED;
+    }
+
+    public record FirstIds(long user, long request, long item, long booking, long comment) {
+    }
+
+    public interface Rows {
+        default void user(long id, String name, String email) {
+        }
+
+        default void request(long id, String description, long requestorId, LocalDateTime created) {
+        }
+
+        default void item(long id, String name, String description, boolean available, long ownerId,
+                          Long requestId) {
+        }
+
+        default void booking(long id, LocalDateTime start, LocalDateTime end, long itemId, long bookerId,
+                             BookingStatus status) {
+        }
+
+        default void comment(long id, String text, long itemId, long authorId, LocalDateTime created) {
+        }
+    }
+}
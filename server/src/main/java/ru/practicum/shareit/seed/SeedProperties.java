@@ -0,0 +1,25 @@
+package ru.practicum.shareit.seed;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.seed")
+public class SeedProperties {
+    private long seed = 42;
+    private int users = 10_000;
+    private int requests = 1_000;
+    private int items = 50_000;
+    private int bookings = 200_000;
+    private double ownerSkew = 1.1;
+    private double itemSkew = 0.9;
+    private double requestedItemShare = 0.1;
+    private double commentShare = 0.3;
+    private int historyDays = 365;
+    private LocalDateTime anchor;
+    private int batchSize = 1_000;
+}
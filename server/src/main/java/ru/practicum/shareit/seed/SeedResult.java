@@ -0,0 +1,11 @@
+package ru.practicum.shareit.seed;
+
+public record SeedResult(long firstUserId,
+                         int users,
+                         long firstRequestId,
+                         int requests,
+                         long firstItemId,
+                         int items,
+                         int bookings,
+                         int comments) {
+}
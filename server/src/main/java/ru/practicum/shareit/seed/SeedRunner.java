@@ -0,0 +1,22 @@
+package ru.practicum.shareit.seed;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(SeedProperties.class)
+@ConditionalOnProperty(name = "shareit.seed.enabled", havingValue = "true")
+public class SeedRunner {
+    private final BulkDataSeeder seeder;
+    private final SeedProperties properties;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void seed() {
+        seeder.seed(properties);
+    }
+}
@@ -2,7 +2,10 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -26,15 +29,17 @@ public class UserController {
     @PatchMapping("/{userId}")
     public UserDto updateUser(
             @PathVariable Long userId,
-            @RequestBody UpdateUserRequest request) {
+            @RequestBody UpdateUserRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Обновление пользователя ID {}: {}", userId, request);
-        return userService.updateUser(request, userId);
+        return userService.updateUser(request, userId, EntityTags.versionOf(ifMatch));
     }
 
     @GetMapping("/{userId}")
-    public UserDto getUserById(@PathVariable Long userId) {
+    public UserDto getUserById(@PathVariable Long userId, WebRequest webRequest) {
         log.info("Получение пользователя ID {}", userId);
-        return userService.getUserById(userId);
+        return EntityTags.conditionalGet(webRequest, () -> userService.getUserTag(userId),
+                () -> userService.getUserById(userId));
     }
 
     @DeleteMapping("/{userId}")
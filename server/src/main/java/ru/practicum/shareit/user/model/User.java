@@ -2,11 +2,16 @@ package ru.practicum.shareit.user.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.config.SecondLevelCacheConfig;
 
 @Setter
 @Getter
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USER_REGION)
 @Table(name = "users")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,6 +26,10 @@ public class User {
     @Column(name = "email", nullable = false, unique = true, length = 500)
     private String email;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.seed.DataSeededEvent;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class UserExistenceService {
+    private final Set<Long> knownUserIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong deletions = new AtomicLong();
+    private final UserRepository userRepository;
+    private final int warmUpBatchSize;
+
+    public UserExistenceService(UserRepository userRepository,
+                                @Value("${shareit.user.warm-up-batch-size:1000}") int warmUpBatchSize) {
+        this.userRepository = userRepository;
+        this.warmUpBatchSize = warmUpBatchSize;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, DataSeededEvent.class})
+    public void warmUp() {
+        long lastId = 0;
+        List<Long> batch;
+        do {
+            long generation = deletions.get();
+            batch = userRepository.findIdsAfter(lastId, Limit.of(warmUpBatchSize));
+            knownUserIds.addAll(batch);
+            if (deletions.get() != generation) {
+                batch.forEach(knownUserIds::remove);
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1);
+            }
+        } while (batch.size() == warmUpBatchSize);
+
+        log.info("Кэш существующих пользователей построен: {} пользователей", knownUserIds.size());
+    }
+
+    public boolean exists(Long userId) {
+        if (knownUserIds.contains(userId)) {
+            return true;
+        }
+        long generation = deletions.get();
+        if (userRepository.existsById(userId)) {
+            knownUserIds.add(userId);
+            if (deletions.get() != generation) {
+                knownUserIds.remove(userId);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public void onUserCreated(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    knownUserIds.add(userId);
+                }
+            });
+        } else {
+            knownUserIds.add(userId);
+        }
+    }
+
+    public void onUserDeleted(Long userId) {
+        forget(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forget(userId);
+                }
+            });
+        }
+    }
+
+    private void forget(Long userId) {
+        deletions.incrementAndGet();
+        knownUserIds.remove(userId);
+    }
+
+    int size() {
+        return knownUserIds.size();
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -9,9 +10,11 @@ import java.util.List;
 public interface UserService {
     UserDto createUser(NewUserRequest request);
 
-    UserDto updateUser(UpdateUserRequest request, Long userId);
+    UserDto updateUser(UpdateUserRequest request, Long userId, Long expectedVersion);
 
-    UserDto getUserById(Long userId);
+    Tagged<UserDto> getUserById(Long userId);
+
+    String getUserTag(Long userId);
 
     void deleteUser(Long userId);
 
@@ -4,8 +4,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityService;
+import ru.practicum.shareit.config.SecondLevelCacheEvictor;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.exception.EliminatingConflict;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.PreconditionFailedException;
+import ru.practicum.shareit.item.search.ItemSearchService;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
@@ -23,6 +30,11 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final SecondLevelCacheEvictor secondLevelCacheEvictor;
+    private final UserExistenceService userExistenceService;
+    private final BookingAvailabilityService bookingAvailabilityService;
+    private final ItemSearchService itemSearchService;
+    private final ItemBookingSummaryService itemBookingSummaryService;
 
     @Override
     @Transactional
@@ -33,14 +45,18 @@ public class UserServiceImpl implements UserService {
 
         User user = userMapper.toUser(request);
         user = userRepository.save(user);
+        userExistenceService.onUserCreated(user.getId());
         return userMapper.toUserDto(user);
     }
 
     @Override
     @Transactional
-    public UserDto updateUser(UpdateUserRequest request, Long userId) {
+    public UserDto updateUser(UpdateUserRequest request, Long userId, Long expectedVersion) {
         User existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь не найден с ID: " + userId));
+        if (expectedVersion != null && !expectedVersion.equals(existingUser.getVersion())) {
+            throw new PreconditionFailedException("Пользователь изменён другим запросом");
+        }
 
         if (request.getEmail() != null && !request.getEmail().isBlank()
                 && !request.getEmail().equals(existingUser.getEmail())) {
@@ -59,9 +75,16 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public UserDto getUserById(Long userId) {
+    public Tagged<UserDto> getUserById(Long userId) {
         return userRepository.findById(userId)
-                .map(userMapper::toUserDto)
+                .map(user -> new Tagged<>(userMapper.toUserDto(user), EntityTags.versioned(user.getVersion(), userId)))
+                .orElseThrow(() -> new NotFoundException("Пользователь не найден с ID: " + userId));
+    }
+
+    @Override
+    public String getUserTag(Long userId) {
+        return userRepository.findVersionById(userId)
+                .map(version -> EntityTags.versioned(version, userId))
                 .orElseThrow(() -> new NotFoundException("Пользователь не найден с ID: " + userId));
     }
 
@@ -71,7 +94,13 @@ public class UserServiceImpl implements UserService {
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException("Пользователь не найден с ID: " + userId);
         }
+        bookingAvailabilityService.onUserDeleted(userId);
+        itemSearchService.onOwnerDeleted(userId);
         userRepository.deleteById(userId);
+        userRepository.flush();
+        itemBookingSummaryService.onBookerDeleted(userId);
+        userExistenceService.onUserDeleted(userId);
+        secondLevelCacheEvictor.evictItemsAfterCommit();
     }
 
     @Override
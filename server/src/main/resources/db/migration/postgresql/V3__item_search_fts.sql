@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_items_search_fts ON items
+    USING GIN (to_tsvector('simple', name || ' ' || description))
+    WHERE is_available = true;
\ No newline at end of file
@@ -0,0 +1,138 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.NewUserRequest;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.accept-count=10000",
+        "spring.jpa.show-sql=false",
+        "logging.level.ru.practicum.shareit.item=WARN",
+        "logging.level.ru.practicum.shareit.user=WARN",
+        "logging.level.org.springframework.transaction.interceptor=WARN",
+        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class VirtualThreadLoadTest {
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final int ITEMS_PER_OWNER = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        NewUserRequest user = new NewUserRequest();
+        user.setName("Нагрузка");
+        user.setEmail(UUID.randomUUID() + "@load.test");
+        ownerId = userService.createUser(user).getId();
+        for (int i = 0; i < ITEMS_PER_OWNER; i++) {
+            NewItemRequest item = new NewItemRequest();
+            item.setName("Дрель " + i);
+            item.setDescription("Аккумуляторная дрель");
+            item.setAvailable(true);
+            itemService.createItem(ownerId, item);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1000, 5000})
+    void getUserItems_underConcurrentClients(int clients) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items"))
+                .header("X-Sharer-User-Id", String.valueOf(ownerId))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(clients * REQUESTS_PER_CLIENT));
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long elapsed;
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            for (int i = 0; i < clients; i++) {
+                clientThreads.submit(() -> {
+                    start.await();
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request,
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                latencies.add(System.nanoTime() - sent);
+                            } else {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            clientThreads.shutdown();
+            assertTrue(clientThreads.awaitTermination(10, TimeUnit.MINUTES));
+            elapsed = System.nanoTime() - started;
+        }
+        assertFalse(latencies.isEmpty());
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        double throughput = sorted.size() / (elapsed / 1_000_000_000.0);
+        log.info("Нагрузка GET /items: virtual threads {}, клиентов {}, запросов {}, ошибок {}, {} запр/с, "
+                        + "p50 {} мс, p99 {} мс",
+                virtualThreads, clients, sorted.size(), failures.get(), Math.round(throughput),
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99));
+    }
+
+    private long percentileMillis(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return Duration.ofNanos(sorted.get(Math.max(index, 0))).toMillis();
+    }
+}
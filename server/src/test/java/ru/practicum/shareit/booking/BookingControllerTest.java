@@ -4,15 +4,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingAvailabilityDto;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.etag.Tagged;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -70,15 +76,40 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.id").value(bookingId));
     }
 
+    @Test
+    void getAvailability_ValidRequest_ReturnsAvailability() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2030, 1, 2, 10, 0);
+        when(bookingService.getAvailability(1L, start, end)).thenReturn(BookingAvailabilityDto.builder()
+                .itemId(1L)
+                .start(start)
+                .end(end)
+                .available(false)
+                .build());
+
+        mockMvc.perform(get("/bookings/availability")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("itemId", "1")
+                        .param("start", "2030-01-01T10:00:00")
+                        .param("end", "2030-01-02T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(1))
+                .andExpect(jsonPath("$.available").value(false));
+    }
+
     @Test
     void getBookingById_ValidRequest_ReturnsOk() throws Exception {
         BookingResponse response = BookingResponse.builder().id(bookingId).build();
-        when(bookingService.getBookingById(eq(userId), eq(bookingId))).thenReturn(response);
+        when(bookingService.getBookingById(eq(userId), eq(bookingId)))
+                .thenReturn(new Tagged<>(response, "\"booking-1\""));
 
         mockMvc.perform(get("/bookings/{bookingId}", bookingId)
                         .header("X-Sharer-User-Id", userId))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"booking-1\""))
                 .andExpect(jsonPath("$.id").value(bookingId));
+
+        verify(bookingService, never()).getBookingTag(anyLong(), anyLong());
     }
 
     @Test
@@ -110,4 +141,61 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(bookingId));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserBookings_WithCursor_ReturnsNextCursorHeader() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        BookingResponse response = BookingResponse.builder().id(bookingId).start(start).build();
+        Window<BookingResponse> window = Window.from(List.of(response),
+                index -> ScrollPosition.forward(Map.of("start", start, "id", bookingId)), true);
+        when(bookingService.scrollUserBookings(eq(userId), eq(BookingState.ALL), any(ScrollPosition.class),
+                eq(Limit.of(1)))).thenReturn(window);
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(bookingId))
+                .andExpect(header().string(BookingCursor.NEXT_CURSOR_HEADER,
+                        BookingCursor.encode(ScrollPosition.forward(Map.of("start", start, "id", bookingId)))));
+
+        verify(bookingService, never()).getUserBookings(any(), any(), any());
+    }
+
+    @Test
+    void getOwnerBookings_WithCursorOnLastPage_OmitsNextCursorHeader() throws Exception {
+        BookingResponse response = BookingResponse.builder().id(bookingId).build();
+        Window<BookingResponse> window = Window.from(List.of(response), index -> ScrollPosition.keyset(), false);
+        when(bookingService.scrollOwnerBookings(eq(userId), eq(BookingState.ALL), any(ScrollPosition.class),
+                any(Limit.class))).thenReturn(window);
+
+        mockMvc.perform(get("/bookings/owner-bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(bookingId))
+                .andExpect(header().doesNotExist(BookingCursor.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getUserBookings_WithInvalidCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getBookingById_withMatchingEntityTag_ReturnsNotModified() throws Exception {
+        when(bookingService.getBookingTag(userId, bookingId)).thenReturn("\"booking-1\"");
+
+        mockMvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header("X-Sharer-User-Id", userId)
+                        .header("If-None-Match", "\"booking-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"booking-1\""));
+
+        verify(bookingService, never()).getBookingById(any(), any());
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingCursorTest {
+
+    @Test
+    void decode_EmptyCursor_ReturnsInitialPosition() {
+        ScrollPosition position = BookingCursor.decode("");
+
+        assertTrue(position.isInitial());
+    }
+
+    @Test
+    void encodeAndDecode_ReturnsSameKeys() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0, 0);
+        ScrollPosition position = ScrollPosition.forward(Map.of("start", start, "id", 42L));
+
+        KeysetScrollPosition decoded = (KeysetScrollPosition) BookingCursor.decode(BookingCursor.encode(position));
+
+        assertEquals(start, decoded.getKeys().get("start"));
+        assertEquals(42L, decoded.getKeys().get("id"));
+    }
+
+    @Test
+    void decode_InvalidCursor_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> BookingCursor.decode("not-a-cursor"));
+    }
+}
@@ -2,18 +2,27 @@ package ru.practicum.shareit.booking;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.EliminatingConflict;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -31,6 +40,9 @@ class BookingIntegrationTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
     @Test
     void createBooking_IntegrationTest() {
         User owner = createUser("owner@email.com");
@@ -55,6 +67,73 @@ class BookingIntegrationTest {
         assertEquals(item.getId(), response.getItem().getId());
     }
 
+    @Test
+    void createBooking_OverlappingSlot_ThrowsEliminatingConflict() {
+        User owner = userRepository.save(createUser("owner@email.com"));
+        User booker = userRepository.save(createUser("booker@email.com"));
+        Item item = itemRepository.save(createItem(owner.getId(), true));
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        BookingRequest request = new BookingRequest();
+        request.setItemId(item.getId());
+        request.setStart(start);
+        request.setEnd(start.plusDays(2));
+        bookingService.createBooking(booker.getId(), request);
+
+        BookingRequest overlapping = new BookingRequest();
+        overlapping.setItemId(item.getId());
+        overlapping.setStart(start.plusDays(1));
+        overlapping.setEnd(start.plusDays(3));
+
+        BookingRequest adjacent = new BookingRequest();
+        adjacent.setItemId(item.getId());
+        adjacent.setStart(start.plusDays(2));
+        adjacent.setEnd(start.plusDays(3));
+
+        assertThrows(EliminatingConflict.class, () -> bookingService.createBooking(booker.getId(), overlapping));
+        assertNotNull(bookingService.createBooking(booker.getId(), adjacent).getId());
+        assertFalse(bookingService.getAvailability(item.getId(), start, start.plusDays(1)).getAvailable());
+        assertTrue(bookingService.getAvailability(item.getId(), start.plusDays(3), start.plusDays(4)).getAvailable());
+    }
+
+    @Test
+    void scrollUserBookings_ShouldWalkAllPagesByCursor() {
+        User owner = userRepository.save(createUser("owner@email.com"));
+        User booker = userRepository.save(createUser("booker@email.com"));
+        Item item = itemRepository.save(createItem(owner.getId(), true));
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Booking booking = bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.WAITING)
+                    .start(start.plusDays(i / 2))
+                    .end(start.plusDays(10))
+                    .build());
+            expectedIds.add(0, booking.getId());
+        }
+
+        List<Long> ids = new ArrayList<>();
+        ScrollPosition position = BookingCursor.decode("");
+        Window<BookingResponse> window;
+        do {
+            window = bookingService.scrollUserBookings(booker.getId(), BookingState.ALL, position, Limit.of(2));
+            window.forEach(response -> ids.add(response.getId()));
+            if (window.hasNext()) {
+                position = BookingCursor.decode(BookingCursor.encode(window.positionAt(window.size() - 1)));
+            }
+        } while (window.hasNext());
+
+        List<Long> ownerIds = new ArrayList<>();
+        bookingService.scrollOwnerBookings(owner.getId(), BookingState.WAITING, ScrollPosition.keyset(), Limit.of(10))
+                .forEach(response -> ownerIds.add(response.getId()));
+
+        assertEquals(expectedIds, ids);
+        assertEquals(expectedIds, ownerIds);
+    }
+
     private User createUser(String email) {
         return User.builder()
                 .name("Test User")
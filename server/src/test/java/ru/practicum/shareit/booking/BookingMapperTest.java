@@ -3,6 +3,8 @@ package ru.practicum.shareit.booking;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 import ru.practicum.shareit.booking.dto.BookingRequest;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
@@ -30,4 +32,24 @@ class BookingMapperTest {
         assertNull(booking.getBooker());
         assertNull(booking.getItem());
     }
-}
\ No newline at end of file
+
+    @Test
+    void toBookingResponse_FromBookingView_MapsNestedBookerAndItem() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingView view = new BookingView(1L, start, start.plusDays(1), BookingStatus.APPROVED,
+                2L, "Booker", "booker@email.com", 3L, "Drill", "Cordless drill", true, 4L, 5L);
+
+        BookingResponse response = bookingMapper.toBookingResponse(view);
+
+        assertEquals(1L, response.getId());
+        assertEquals(start, response.getStart());
+        assertEquals(BookingStatus.APPROVED, response.getStatus());
+        assertEquals(2L, response.getBooker().getId());
+        assertEquals("booker@email.com", response.getBooker().getEmail());
+        assertEquals(3L, response.getItem().getId());
+        assertEquals("Drill", response.getItem().getName());
+        assertEquals(4L, response.getItem().getOwner());
+        assertEquals(5L, response.getItem().getRequestId());
+        assertNull(response.getItem().getLastBooking());
+    }
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.transaction.TestTransaction;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.EliminatingConflict;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BookingAvailabilityServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private BookingAvailabilityService availabilityService;
+    private User booker;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        availabilityService = new BookingAvailabilityService(bookingRepository, 2);
+        User owner = entityManager.persist(User.builder().name("Владелец").email("owner@email.com").build());
+        booker = entityManager.persist(User.builder().name("Арендатор").email("booker@email.com").build());
+        item = entityManager.persist(Item.builder()
+                .name("Дрель")
+                .description("Мощная дрель")
+                .available(true)
+                .owner(owner.getId())
+                .build());
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void warmUp_shouldIndexOnlyActiveBlockingBookings() {
+        persistBooking(0, 1, BookingStatus.APPROVED);
+        persistBooking(2, 3, BookingStatus.WAITING);
+        persistBooking(4, 5, BookingStatus.REJECTED);
+        persistBooking(6, 7, BookingStatus.CANCELLED);
+        persistBooking(-10, -9, BookingStatus.APPROVED);
+
+        availabilityService.warmUp();
+
+        assertTrue(availabilityService.isReady());
+        assertFalse(availabilityService.isAvailable(item.getId(), start, start.plusDays(1)));
+        assertFalse(availabilityService.isAvailable(item.getId(), start.plusDays(2), start.plusDays(3)));
+        assertTrue(availabilityService.isAvailable(item.getId(), start.plusDays(4), start.plusDays(8)));
+    }
+
+    @Test
+    void reserve_beforeWarmUp_shouldCheckDatabase() {
+        persistBooking(0, 2, BookingStatus.APPROVED);
+        Booking overlapping = persistBooking(1, 3, BookingStatus.WAITING);
+        Booking free = persistBooking(3, 4, BookingStatus.WAITING);
+
+        assertFalse(availabilityService.isReady());
+        assertFalse(availabilityService.isAvailable(item.getId(), start, start.plusDays(1)));
+        assertThrows(EliminatingConflict.class, () -> availabilityService.reserve(overlapping));
+        assertDoesNotThrow(() -> availabilityService.reserve(free));
+    }
+
+    @Test
+    void reserve_afterWarmUp_shouldRejectOverlappingBooking() {
+        availabilityService.warmUp();
+        Booking first = persistBooking(0, 2, BookingStatus.WAITING);
+        Booking second = persistBooking(1, 3, BookingStatus.WAITING);
+
+        availabilityService.reserve(first);
+
+        assertThrows(EliminatingConflict.class, () -> availabilityService.reserve(second));
+    }
+
+    @Test
+    void reserve_shouldReleaseSlotWhenTransactionRollsBack() {
+        availabilityService.warmUp();
+        Booking booking = persistBooking(0, 2, BookingStatus.WAITING);
+
+        availabilityService.reserve(booking);
+        assertFalse(availabilityService.isAvailable(item.getId(), start, start.plusDays(1)));
+
+        TestTransaction.end();
+
+        assertTrue(availabilityService.isAvailable(item.getId(), start, start.plusDays(1)));
+    }
+
+    @Test
+    void release_shouldFreeSlotOfRejectedBooking() {
+        availabilityService.warmUp();
+        Booking booking = persistBooking(0, 2, BookingStatus.WAITING);
+        availabilityService.reserve(booking);
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+
+        availabilityService.reserve(booking);
+        availabilityService.release(booking);
+
+        assertTrue(availabilityService.isAvailable(item.getId(), start, start.plusDays(1)));
+    }
+
+    @Test
+    void findBusyPeriods_shouldMergeOverlappingAndAdjacentBookings() {
+        persistBooking(0, 2, BookingStatus.APPROVED);
+        persistBooking(2, 3, BookingStatus.WAITING);
+        persistBooking(5, 8, BookingStatus.APPROVED);
+        persistBooking(6, 7, BookingStatus.APPROVED);
+        persistBooking(10, 11, BookingStatus.REJECTED);
+        availabilityService.warmUp();
+
+        List<BusyPeriod> periods = availabilityService.findBusyPeriods(
+                item.getId(), start.plusDays(1), start.plusDays(20));
+
+        assertEquals(List.of(
+                new BusyPeriod(start.plusDays(1), start.plusDays(3)),
+                new BusyPeriod(start.plusDays(5), start.plusDays(8))), periods);
+    }
+
+    @Test
+    void prune_shouldDropEndedIntervalsAndReadOlderRangesFromDatabase() {
+        Booking ending = persistBooking(0, 1, BookingStatus.APPROVED);
+        persistBooking(1, 2, BookingStatus.APPROVED);
+        availabilityService.warmUp();
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+        ending.setStart(LocalDateTime.now().minusDays(2));
+        ending.setEnd(LocalDateTime.now().minusSeconds(1));
+        availabilityService.reserve(ending);
+
+        assertEquals(1, availabilityService.prune());
+        assertEquals(List.of(new BusyPeriod(start.plusDays(1), start.plusDays(2))),
+                availabilityService.findBusyPeriods(item.getId(), start, start.plusDays(3)));
+        assertEquals(0, availabilityService.prune());
+    }
+
+    @Test
+    void findBusyPeriods_shouldReadPastRangeFromDatabase() {
+        persistBooking(-20, -15, BookingStatus.APPROVED);
+        persistBooking(-16, -10, BookingStatus.APPROVED);
+        availabilityService.warmUp();
+
+        List<BusyPeriod> periods = availabilityService.findBusyPeriods(
+                item.getId(), start.minusDays(30), start);
+
+        assertEquals(List.of(new BusyPeriod(start.plusDays(-20), start.plusDays(-10))), periods);
+    }
+
+    private Booking persistBooking(int startDay, int endDay, BookingStatus status) {
+        return entityManager.persistAndFlush(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start.plusDays(startDay))
+                .end(start.plusDays(endDay))
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingIntervalIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex();
+        index.putAll(List.of(
+                interval(1L, 1L, 0, 2),
+                interval(2L, 1L, 5, 7),
+                interval(3L, 2L, 0, 10)));
+    }
+
+    @Test
+    void tryReserve_shouldRejectOverlapOnSameItem() {
+        assertFalse(index.tryReserve(interval(10L, 1L, 1, 3)));
+        assertFalse(index.tryReserve(interval(11L, 1L, 4, 8)));
+        assertTrue(index.tryReserve(interval(12L, 1L, 2, 5)));
+        assertTrue(index.tryReserve(interval(13L, 3L, 0, 10)));
+    }
+
+    @Test
+    void tryReserve_shouldFindLongIntervalStartingLongBefore() {
+        index.put(interval(4L, 1L, 10, 100));
+        index.put(interval(5L, 1L, 20, 21));
+
+        assertFalse(index.tryReserve(interval(10L, 1L, 50, 51)));
+        assertTrue(index.isFree(1L, BASE.plusDays(100), BASE.plusDays(101)));
+    }
+
+    @Test
+    void tryReserve_shouldAllowSameBookingToBeReindexed() {
+        assertTrue(index.tryReserve(interval(1L, 1L, 0, 3)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void release_shouldFreeSlot() {
+        index.release(1L, 1L);
+
+        assertTrue(index.isFree(1L, BASE, BASE.plusDays(2)));
+        assertTrue(index.tryReserve(interval(10L, 1L, 0, 1)));
+    }
+
+    @Test
+    void removeEndedBy_shouldDropEndedIntervalsOnly() {
+        index.put(interval(4L, 1L, 10, 100));
+
+        assertEquals(2, index.removeEndedBy(BASE.plusDays(7)));
+
+        assertEquals(2, index.size());
+        assertTrue(index.isFree(1L, BASE, BASE.plusDays(8)));
+        assertFalse(index.isFree(1L, BASE.plusDays(50), BASE.plusDays(51)));
+        assertFalse(index.isFree(2L, BASE.plusDays(8), BASE.plusDays(9)));
+    }
+
+    @Test
+    void overlapping_shouldReturnIntervalsInStartOrder() {
+        List<BookingInterval> result = index.overlapping(1L, BASE.plusDays(1), BASE.plusDays(6));
+
+        assertEquals(List.of(1L, 2L), result.stream().map(BookingInterval::bookingId).toList());
+        assertTrue(index.overlapping(4L, BASE, BASE.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void tryReserve_concurrentRequestsForSameSlot_onlyOneSucceeds() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                long bookingId = 100L + i;
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    if (index.tryReserve(interval(bookingId, 5L, 1, 3))) {
+                        reserved.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            startSignal.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, reserved.get());
+        assertEquals(1, index.overlapping(5L, BASE, BASE.plusDays(10)).size());
+    }
+
+    private BookingInterval interval(Long bookingId, Long itemId, int startDay, int endDay) {
+        return new BookingInterval(bookingId, itemId, BASE.plusDays(startDay), BASE.plusDays(endDay));
+    }
+}
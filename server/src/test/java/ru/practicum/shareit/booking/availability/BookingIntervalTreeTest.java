@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingIntervalTreeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void overlapping_shouldMatchLinearScanAfterRandomAddsAndRemoves() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        List<BookingInterval> expected = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (long id = 1; id <= 2000; id++) {
+            if (!expected.isEmpty() && random.nextInt(3) == 0) {
+                tree.remove(expected.remove(random.nextInt(expected.size())));
+            }
+            int start = random.nextInt(10_000);
+            BookingInterval interval = interval(id, start, start + 1 + random.nextInt(random.nextInt(10) == 0
+                    ? 2_000 : 20));
+            tree.add(interval);
+            expected.add(interval);
+        }
+        expected.sort(Comparator.comparing(BookingInterval::start).thenComparing(BookingInterval::bookingId));
+
+        assertEquals(expected.size(), tree.size());
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(10_000);
+            LocalDateTime fromTime = BASE.plusHours(from);
+            LocalDateTime toTime = BASE.plusHours(from + 1 + random.nextInt(50));
+            List<BookingInterval> linear = expected.stream()
+                    .filter(interval -> interval.overlaps(fromTime, toTime))
+                    .toList();
+
+            assertEquals(linear, tree.overlapping(fromTime, toTime));
+            assertEquals(linear.stream().findFirst(), tree.findFirst(fromTime, toTime, interval -> true));
+        }
+    }
+
+    @Test
+    void findFirst_shouldFindLongIntervalBehindShorterOnes() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.add(interval(1L, 0, 1000));
+        for (long id = 2; id < 100; id++) {
+            tree.add(interval(id, (int) id * 5, (int) id * 5 + 1));
+        }
+        tree.remove(interval(1L, 0, 1000));
+
+        assertTrue(tree.findFirst(BASE.plusHours(600), BASE.plusHours(601), interval -> true).isEmpty());
+        assertEquals(2L, tree.findFirst(BASE, BASE.plusHours(11), interval -> true).orElseThrow().bookingId());
+    }
+
+    @Test
+    void endedBy_shouldReturnOnlyIntervalsEndedByTime() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.add(interval(1L, 0, 5));
+        tree.add(interval(2L, 2, 20));
+        tree.add(interval(3L, 6, 10));
+        tree.add(interval(4L, 12, 14));
+
+        assertEquals(List.of(1L, 3L), tree.endedBy(BASE.plusHours(10)).stream()
+                .map(BookingInterval::bookingId)
+                .toList());
+    }
+
+    private BookingInterval interval(Long bookingId, int startHour, int endHour) {
+        return new BookingInterval(bookingId, 1L, BASE.plusHours(startHour), BASE.plusHours(endHour));
+    }
+}
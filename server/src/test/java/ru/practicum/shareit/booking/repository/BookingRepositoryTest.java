@@ -0,0 +1,212 @@
+package ru.practicum.shareit.booking.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingVersionView;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookingRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
+
+    private User owner;
+    private User booker;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        owner = entityManager.persist(User.builder().name("Владелец").email("owner@email.com").build());
+        booker = entityManager.persist(User.builder().name("Арендатор").email("booker@email.com").build());
+    }
+
+    @Test
+    void findViewsByOwner_shouldFetchResponseColumnsInOneStatement() {
+        persistBookings(5);
+
+        long statements = countStatements(() -> bookingRepository.findViewsByOwner(owner.getId(), PageRequest.of(0, 10))
+                .stream()
+                .map(bookingMapper::toBookingResponse)
+                .toList());
+        List<BookingView> views = bookingRepository.findViewsByOwner(owner.getId(), PageRequest.of(0, 10));
+
+        assertEquals(1, statements);
+        assertEquals(5, views.size());
+        assertTrue(views.get(0).start().isAfter(views.get(1).start()));
+        assertEquals(booker.getId(), views.get(0).bookerId());
+        assertEquals("booker@email.com", views.get(0).bookerEmail());
+        assertEquals(owner.getId(), views.get(0).itemOwner());
+        assertNull(views.get(0).itemRequestId());
+    }
+
+    @Test
+    void scrollViewsByOwner_shouldPageByKeysetInOneStatementPerPage() {
+        persistBookings(3);
+        Item item = persistItem("Пила");
+        persistBooking(item, now.plusDays(1), now.plusDays(1).plusHours(2), BookingStatus.WAITING);
+        entityManager.flush();
+        entityManager.clear();
+        LocalDateTime firstStart = BookingCursor.startOf(ScrollPosition.keyset());
+        Long firstId = BookingCursor.idOf(ScrollPosition.keyset());
+
+        long statements = countStatements(() -> bookingRepository.scrollViewsByOwner(owner.getId(), firstStart,
+                        firstId, Limit.of(10)).stream()
+                .map(bookingMapper::toBookingResponse)
+                .toList());
+        List<BookingView> firstPage = bookingRepository.scrollViewsByOwner(owner.getId(), firstStart, firstId,
+                Limit.of(3));
+        BookingView last = firstPage.get(firstPage.size() - 1);
+        List<BookingView> secondPage = bookingRepository.scrollViewsByOwner(owner.getId(), last.start(), last.id(),
+                Limit.of(3));
+
+        assertEquals(1, statements);
+        assertEquals(3, firstPage.size());
+        assertEquals(1, secondPage.size());
+        List<BookingView> all = Stream.concat(firstPage.stream(), secondPage.stream()).toList();
+        assertEquals(all.stream()
+                        .sorted(Comparator.comparing(BookingView::start).thenComparing(BookingView::id).reversed())
+                        .toList(), all);
+        assertEquals(4, all.stream().map(BookingView::id).distinct().count());
+    }
+
+    @Test
+    void findViewsByOwner_shouldMatchEntityMapping() {
+        persistBookings(3);
+
+        List<BookingResponse> fromEntities = bookingRepository.findByItem_OwnerOrderByStartDesc(owner.getId(),
+                        PageRequest.of(0, 10)).stream()
+                .map(bookingMapper::toBookingResponse)
+                .toList();
+        List<BookingResponse> fromViews = bookingRepository.findViewsByOwner(owner.getId(), PageRequest.of(0, 10))
+                .stream()
+                .map(bookingMapper::toBookingResponse)
+                .toList();
+
+        assertEquals(fromEntities, fromViews);
+    }
+
+    @Test
+    void bookerViews_shouldFilterByState() {
+        persistBookings(2);
+        Item item = persistItem("Пила");
+        persistBooking(item, now.minusDays(1), now.plusDays(1), BookingStatus.APPROVED);
+        persistBooking(item, now.minusDays(5), now.minusDays(4), BookingStatus.REJECTED);
+        Pageable page = PageRequest.of(0, 10);
+
+        assertEquals(4, bookingRepository.findViewsByBooker(booker.getId(), page).size());
+        assertEquals(1, bookingRepository.findCurrentViewsByBooker(booker.getId(), now, page).size());
+        assertEquals(1, bookingRepository.findPastViewsByBooker(booker.getId(), now, page).size());
+        assertEquals(2, bookingRepository.findFutureViewsByBooker(booker.getId(), now, page).size());
+        assertEquals(1, bookingRepository.findViewsByBookerAndStatus(booker.getId(), BookingStatus.REJECTED, page)
+                .size());
+    }
+
+    @Test
+    void findVersionViewById_shouldFetchVersionsInOneStatement() {
+        Item item = persistItem("Пила");
+        persistBooking(item, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+        entityManager.flush();
+        Booking booking = bookingRepository.findByBookerIdOrderByStartDesc(booker.getId(), PageRequest.of(0, 1))
+                .get(0);
+        booking.setStatus(BookingStatus.APPROVED);
+        entityManager.flush();
+        entityManager.clear();
+
+        long statements = countStatements(() -> bookingRepository.findVersionViewById(booking.getId()));
+        BookingVersionView view = bookingRepository.findVersionViewById(booking.getId()).orElseThrow();
+
+        assertEquals(1, statements);
+        assertEquals(booker.getId(), view.bookerId());
+        assertEquals(owner.getId(), view.itemOwner());
+        assertEquals(1L, view.version());
+        assertEquals(0L, view.itemVersion());
+        assertTrue(bookingRepository.findVersionViewById(-1L).isEmpty());
+    }
+
+    @Test
+    void saveAndFlush_withStaleVersion_shouldFailOptimisticLock() {
+        persistBookings(1);
+        Booking stale = bookingRepository.findByBookerIdOrderByStartDesc(booker.getId(), PageRequest.of(0, 1))
+                .get(0);
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 WHERE b.id = :id")
+                .setParameter("status", BookingStatus.REJECTED)
+                .setParameter("id", stale.getId())
+                .executeUpdate();
+
+        stale.setStatus(BookingStatus.APPROVED);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> bookingRepository.saveAndFlush(stale));
+    }
+
+    private void persistBookings(int count) {
+        Item item = persistItem("Дрель");
+        for (int i = 0; i < count; i++) {
+            persistBooking(item, now.plusDays(i + 1), now.plusDays(i + 1).plusHours(2), BookingStatus.WAITING);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Item persistItem(String name) {
+        return entityManager.persist(Item.builder()
+                .name(name)
+                .description("Описание")
+                .available(true)
+                .owner(owner.getId())
+                .build());
+    }
+
+    private void persistBooking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        entityManager.persist(Booking.builder()
+                .item(item)
+                .booker(entityManager.find(User.class, booker.getId()))
+                .start(start)
+                .end(end)
+                .status(status)
+                .build());
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -12,7 +12,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @ExtendWith(MockitoExtension.class)
 class BookingDateValidationTest {
 
-    private final BookingServiceImpl bookingService = new BookingServiceImpl(null, null, null, null);
+    private final BookingServiceImpl bookingService = new BookingServiceImpl(null, null, null, null, null, null, null);
 
     @Test
     void validateBookingDates_WithNullStart_ThrowsValidationException() {
@@ -6,20 +6,34 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityService;
+import ru.practicum.shareit.booking.dto.BookingAvailabilityDto;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingVersionView;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.exception.EliminatingConflict;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -39,12 +53,21 @@ class BookingServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceService userExistenceService;
+
     @Mock
     private ItemRepository itemRepository;
 
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private BookingAvailabilityService bookingAvailabilityService;
+
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -54,6 +77,7 @@ class BookingServiceImplTest {
     private Booking booking;
     private BookingRequest bookingRequest;
     private BookingResponse bookingResponse;
+    private BookingView bookingView;
 
     @BeforeEach
     void setUp() {
@@ -97,6 +121,10 @@ class BookingServiceImplTest {
                 .end(bookingRequest.getEnd())
                 .status(BookingStatus.WAITING)
                 .build();
+
+        bookingView = new BookingView(1L, booking.getStart(), booking.getEnd(), BookingStatus.WAITING,
+                user.getId(), user.getName(), user.getEmail(),
+                item.getId(), item.getName(), item.getDescription(), item.getAvailable(), item.getOwner(), null);
     }
 
     @Test
@@ -112,6 +140,52 @@ class BookingServiceImplTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingAvailabilityService).reserve(booking);
+    }
+
+    @Test
+    void createBooking_OverlappingBooking_ThrowsEliminatingConflict() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(bookingMapper.toBooking(any(BookingRequest.class))).thenReturn(booking);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        doThrow(new EliminatingConflict("Вещь уже забронирована на выбранные даты"))
+                .when(bookingAvailabilityService).reserve(booking);
+
+        assertThrows(EliminatingConflict.class, () ->
+                bookingService.createBooking(1L, bookingRequest));
+        verify(bookingMapper, never()).toBookingResponse(any(Booking.class));
+    }
+
+    @Test
+    void getAvailability_ShouldAskAvailabilityIndex() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(bookingAvailabilityService.isAvailable(1L, start, end)).thenReturn(false);
+
+        BookingAvailabilityDto result = bookingService.getAvailability(1L, start, end);
+
+        assertEquals(1L, result.getItemId());
+        assertFalse(result.getAvailable());
+    }
+
+    @Test
+    void getAvailability_InvalidRange_ThrowsValidationException() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        assertThrows(ValidationException.class, () ->
+                bookingService.getAvailability(1L, start, start));
+        verifyNoInteractions(bookingAvailabilityService);
+    }
+
+    @Test
+    void getAvailability_ItemNotFound_ThrowsNotFoundException() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        when(itemRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () ->
+                bookingService.getAvailability(1L, start, start.plusDays(1)));
     }
 
     @Test
@@ -198,28 +272,44 @@ class BookingServiceImplTest {
     void approveBooking_ValidApproval_ReturnsApprovedBooking() {
         booking.setStatus(BookingStatus.WAITING);
         when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
         when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
 
         BookingResponse result = bookingService.approveBooking(2L, 1L, true);
 
         assertNotNull(result);
         assertEquals(BookingStatus.APPROVED, booking.getStatus());
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class));
+        verify(bookingAvailabilityService, never()).release(any(Booking.class));
+        verify(itemBookingSummaryService).refresh(item.getId());
     }
 
     @Test
     void approveBooking_ValidRejection_ReturnsRejectedBooking() {
         booking.setStatus(BookingStatus.WAITING);
         when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
         when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
 
         BookingResponse result = bookingService.approveBooking(2L, 1L, false);
 
         assertNotNull(result);
         assertEquals(BookingStatus.REJECTED, booking.getStatus());
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class));
+        verify(bookingAvailabilityService).release(booking);
+        verifyNoInteractions(itemBookingSummaryService);
+    }
+
+    @Test
+    void approveBooking_ConcurrentUpdate_ThrowsConflict() {
+        booking.setStatus(BookingStatus.WAITING);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L));
+
+        assertThrows(EliminatingConflict.class, () -> bookingService.approveBooking(2L, 1L, true));
+        verifyNoInteractions(itemBookingSummaryService);
+        verify(bookingAvailabilityService, never()).release(any(Booking.class));
     }
 
     @Test
@@ -249,13 +339,18 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingById_ValidRequest_ReturnsBookingResponse() {
+        booking.setVersion(2L);
+        item.setVersion(1L);
+        user.setVersion(3L);
         when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
         when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+        when(bookingRepository.findVersionViewById(1L)).thenReturn(
+                Optional.of(new BookingVersionView(1L, user.getId(), item.getOwner(), 2L, 1L, 3L)));
 
-        BookingResponse result = bookingService.getBookingById(1L, 1L);
+        Tagged<BookingResponse> result = bookingService.getBookingById(1L, 1L);
 
-        assertNotNull(result);
-        assertEquals(1L, result.getId());
+        assertEquals(1L, result.body().getId());
+        assertEquals(bookingService.getBookingTag(1L, 1L), result.tag());
     }
 
     @Test
@@ -274,12 +369,36 @@ class BookingServiceImplTest {
                 bookingService.getBookingById(3L, 1L));
     }
 
+    @Test
+    void getBookingTag_ShouldChangeWithVersionsWithoutMapping() {
+        when(bookingRepository.findVersionViewById(1L)).thenReturn(
+                Optional.of(new BookingVersionView(1L, user.getId(), item.getOwner(), 0L, 0L, 0L)),
+                Optional.of(new BookingVersionView(1L, user.getId(), item.getOwner(), 1L, 0L, 0L)),
+                Optional.of(new BookingVersionView(1L, user.getId(), item.getOwner(), 1L, 1L, 0L)));
+
+        String waitingTag = bookingService.getBookingTag(user.getId(), 1L);
+        String approvedTag = bookingService.getBookingTag(item.getOwner(), 1L);
+        String renamedItemTag = bookingService.getBookingTag(item.getOwner(), 1L);
+
+        assertNotEquals(waitingTag, approvedTag);
+        assertNotEquals(approvedTag, renamedItemTag);
+        verifyNoInteractions(bookingMapper);
+    }
+
+    @Test
+    void getBookingTag_UnauthorizedUser_ThrowsNotFoundException() {
+        when(bookingRepository.findVersionViewById(1L)).thenReturn(
+                Optional.of(new BookingVersionView(1L, user.getId(), item.getOwner(), 0L, 0L, 0L)));
+
+        assertThrows(NotFoundException.class, () -> bookingService.getBookingTag(3L, 1L));
+    }
+
     @Test
     void getUserBookings_AllState_ReturnsBookings() {
-        when(userRepository.existsById(1L)).thenReturn(true);
-        when(bookingRepository.findByBookerIdOrderByStartDesc(anyLong(), any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+        when(userExistenceService.exists(1L)).thenReturn(true);
+        when(bookingRepository.findViewsByBooker(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
 
         List<BookingResponse> result = bookingService.getUserBookings(1L, BookingState.ALL, Pageable.unpaged());
 
@@ -290,11 +409,11 @@ class BookingServiceImplTest {
 
     @Test
     void getUserBookings_CurrentState_ReturnsBookings() {
-        when(userRepository.existsById(1L)).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+        when(userExistenceService.exists(1L)).thenReturn(true);
+        when(bookingRepository.findCurrentViewsByBooker(
+                anyLong(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
 
         List<BookingResponse> result = bookingService.getUserBookings(1L, BookingState.CURRENT, Pageable.unpaged());
 
@@ -304,11 +423,11 @@ class BookingServiceImplTest {
 
     @Test
     void getUserBookings_PastState_ReturnsBookings() {
-        when(userRepository.existsById(1L)).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(
+        when(userExistenceService.exists(1L)).thenReturn(true);
+        when(bookingRepository.findPastViewsByBooker(
                 anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+                .thenReturn(List.of(bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
 
         List<BookingResponse> result = bookingService.getUserBookings(1L, BookingState.PAST, Pageable.unpaged());
 
@@ -318,11 +437,11 @@ class BookingServiceImplTest {
 
     @Test
     void getUserBookings_FutureState_ReturnsBookings() {
-        when(userRepository.existsById(1L)).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(
+        when(userExistenceService.exists(1L)).thenReturn(true);
+        when(bookingRepository.findFutureViewsByBooker(
                 anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+                .thenReturn(List.of(bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
 
         List<BookingResponse> result = bookingService.getUserBookings(1L, BookingState.FUTURE, Pageable.unpaged());
 
@@ -332,11 +451,11 @@ class BookingServiceImplTest {
 
     @Test
     void getUserBookings_WaitingState_ReturnsBookings() {
-        when(userRepository.existsById(1L)).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
+        when(userExistenceService.exists(1L)).thenReturn(true);
+        when(bookingRepository.findViewsByBookerAndStatus(
                 anyLong(), any(BookingStatus.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+                .thenReturn(List.of(bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
 
         List<BookingResponse> result = bookingService.getUserBookings(1L, BookingState.WAITING, Pageable.unpaged());
 
@@ -346,11 +465,11 @@ class BookingServiceImplTest {
 
     @Test
     void getUserBookings_RejectedState_ReturnsBookings() {
-        when(userRepository.existsById(1L)).thenReturn(true);
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
+        when(userExistenceService.exists(1L)).thenReturn(true);
+        when(bookingRepository.findViewsByBookerAndStatus(
                 anyLong(), any(BookingStatus.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+                .thenReturn(List.of(bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
 
         List<BookingResponse> result = bookingService.getUserBookings(1L, BookingState.REJECTED, Pageable.unpaged());
 
@@ -360,7 +479,7 @@ class BookingServiceImplTest {
 
     @Test
     void getUserBookings_UserNotFound_ThrowsNotFoundException() {
-        when(userRepository.existsById(1L)).thenReturn(false);
+        when(userExistenceService.exists(1L)).thenReturn(false);
 
         assertThrows(NotFoundException.class, () ->
                 bookingService.getUserBookings(1L, BookingState.ALL, Pageable.unpaged()));
@@ -374,10 +493,10 @@ class BookingServiceImplTest {
 
     @Test
     void getOwnerBookings_AllState_ReturnsBookings() {
-        when(userRepository.existsById(2L)).thenReturn(true);
-        when(bookingRepository.findByItem_OwnerOrderByStartDesc(anyLong(), any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+        when(userExistenceService.exists(2L)).thenReturn(true);
+        when(bookingRepository.findViewsByOwner(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
 
         List<BookingResponse> result = bookingService.getOwnerBookings(2L, BookingState.ALL, Pageable.unpaged());
 
@@ -388,11 +507,11 @@ class BookingServiceImplTest {
 
     @Test
     void getOwnerBookings_CurrentState_ReturnsBookings() {
-        when(userRepository.existsById(2L)).thenReturn(true);
-        when(bookingRepository.findByItem_OwnerAndStartBeforeAndEndAfterOrderByStartDesc(
-                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+        when(userExistenceService.exists(2L)).thenReturn(true);
+        when(bookingRepository.findCurrentViewsByOwner(
+                anyLong(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
 
         List<BookingResponse> result = bookingService.getOwnerBookings(2L, BookingState.CURRENT, Pageable.unpaged());
 
@@ -402,11 +521,11 @@ class BookingServiceImplTest {
 
     @Test
     void getOwnerBookings_PastState_ReturnsBookings() {
-        when(userRepository.existsById(2L)).thenReturn(true);
-        when(bookingRepository.findByItem_OwnerAndEndBeforeOrderByStartDesc(
+        when(userExistenceService.exists(2L)).thenReturn(true);
+        when(bookingRepository.findPastViewsByOwner(
                 anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+                .thenReturn(List.of(bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
 
         List<BookingResponse> result = bookingService.getOwnerBookings(2L, BookingState.PAST, Pageable.unpaged());
 
@@ -416,11 +535,11 @@ class BookingServiceImplTest {
 
     @Test
     void getOwnerBookings_FutureState_ReturnsBookings() {
-        when(userRepository.existsById(2L)).thenReturn(true);
-        when(bookingRepository.findByItem_OwnerAndStartAfterOrderByStartDesc(
+        when(userExistenceService.exists(2L)).thenReturn(true);
+        when(bookingRepository.findFutureViewsByOwner(
                 anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+                .thenReturn(List.of(bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
 
         List<BookingResponse> result = bookingService.getOwnerBookings(2L, BookingState.FUTURE, Pageable.unpaged());
 
@@ -430,11 +549,11 @@ class BookingServiceImplTest {
 
     @Test
     void getOwnerBookings_WaitingState_ReturnsBookings() {
-        when(userRepository.existsById(2L)).thenReturn(true);
-        when(bookingRepository.findByItem_OwnerAndStatusOrderByStartDesc(
+        when(userExistenceService.exists(2L)).thenReturn(true);
+        when(bookingRepository.findViewsByOwnerAndStatus(
                 anyLong(), any(BookingStatus.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+                .thenReturn(List.of(bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
 
         List<BookingResponse> result = bookingService.getOwnerBookings(2L, BookingState.WAITING, Pageable.unpaged());
 
@@ -444,11 +563,11 @@ class BookingServiceImplTest {
 
     @Test
     void getOwnerBookings_RejectedState_ReturnsBookings() {
-        when(userRepository.existsById(2L)).thenReturn(true);
-        when(bookingRepository.findByItem_OwnerAndStatusOrderByStartDesc(
+        when(userExistenceService.exists(2L)).thenReturn(true);
+        when(bookingRepository.findViewsByOwnerAndStatus(
                 anyLong(), any(BookingStatus.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+                .thenReturn(List.of(bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
 
         List<BookingResponse> result = bookingService.getOwnerBookings(2L, BookingState.REJECTED, Pageable.unpaged());
 
@@ -458,15 +577,97 @@ class BookingServiceImplTest {
 
     @Test
     void getOwnerBookings_UserNotFound_ThrowsNotFoundException() {
-        when(userRepository.existsById(2L)).thenReturn(false);
+        when(userExistenceService.exists(2L)).thenReturn(false);
 
         assertThrows(NotFoundException.class, () ->
                 bookingService.getOwnerBookings(2L, BookingState.ALL, Pageable.unpaged()));
     }
 
+    @Test
+    void getOwnerBookings_EntityFetch_MapsLoadedBookings() {
+        ReflectionTestUtils.setField(bookingService, "listingFetch", BookingServiceImpl.LISTING_FETCH_ENTITY);
+        when(userExistenceService.exists(2L)).thenReturn(true);
+        when(bookingRepository.findByItem_OwnerOrderByStartDesc(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(booking));
+        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+
+        List<BookingResponse> result = bookingService.getOwnerBookings(2L, BookingState.ALL, Pageable.unpaged());
+
+        assertEquals(1, result.size());
+        verify(bookingRepository, never()).findViewsByOwner(anyLong(), any(Pageable.class));
+    }
+
     @Test
     void getOwnerBookings_UnknownState_ThrowsIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class, () ->
                 BookingState.valueOf("UNKNOWN"));
     }
+
+    @Test
+    void scrollUserBookings_PastState_ReturnsWindow() {
+        when(userExistenceService.exists(1L)).thenReturn(true);
+        when(bookingRepository.scrollPastViewsByBooker(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class),
+                eq(Long.MAX_VALUE), eq(Limit.of(2))))
+                .thenReturn(List.of(bookingView, bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
+
+        Window<BookingResponse> result = bookingService.scrollUserBookings(
+                1L, BookingState.PAST, ScrollPosition.keyset(), Limit.of(1));
+
+        assertEquals(1, result.size());
+        assertTrue(result.hasNext());
+        assertEquals(1L, result.getContent().get(0).getId());
+        assertEquals(BookingCursor.after(bookingView.start(), 1L), result.positionAt(0));
+        verify(bookingRepository, never()).findByBookerIdAndEndBeforeOrderByStartDescIdDesc(
+                anyLong(), any(LocalDateTime.class), any(ScrollPosition.class), any(Limit.class));
+    }
+
+    @Test
+    void scrollUserBookings_UserNotFound_ThrowsNotFoundException() {
+        when(userExistenceService.exists(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () ->
+                bookingService.scrollUserBookings(1L, BookingState.ALL, ScrollPosition.keyset(), Limit.of(10)));
+    }
+
+    @Test
+    void scrollOwnerBookings_RejectedState_ReturnsWindow() {
+        when(userExistenceService.exists(2L)).thenReturn(true);
+        LocalDateTime cursorStart = LocalDateTime.now().plusDays(5);
+        when(bookingRepository.scrollViewsByOwnerAndStatus(
+                2L, BookingStatus.REJECTED, cursorStart, 7L, Limit.of(11)))
+                .thenReturn(List.of(bookingView));
+        when(bookingMapper.toBookingResponse(any(BookingView.class))).thenReturn(bookingResponse);
+
+        Window<BookingResponse> result = bookingService.scrollOwnerBookings(
+                2L, BookingState.REJECTED, BookingCursor.after(cursorStart, 7L), Limit.of(10));
+
+        assertEquals(1, result.size());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    void scrollOwnerBookings_EntityFetch_MapsLoadedWindow() {
+        ReflectionTestUtils.setField(bookingService, "listingFetch", BookingServiceImpl.LISTING_FETCH_ENTITY);
+        when(userExistenceService.exists(2L)).thenReturn(true);
+        when(bookingRepository.findByItem_OwnerOrderByStartDescIdDesc(
+                eq(2L), any(ScrollPosition.class), eq(Limit.of(10))))
+                .thenReturn(Window.from(List.of(booking), index -> ScrollPosition.keyset(), false));
+        when(bookingMapper.toBookingResponse(any(Booking.class))).thenReturn(bookingResponse);
+
+        Window<BookingResponse> result = bookingService.scrollOwnerBookings(
+                2L, BookingState.ALL, ScrollPosition.keyset(), Limit.of(10));
+
+        assertEquals(1, result.size());
+        verify(bookingRepository, never()).scrollViewsByOwner(
+                anyLong(), any(LocalDateTime.class), anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void scrollOwnerBookings_UserNotFound_ThrowsNotFoundException() {
+        when(userExistenceService.exists(2L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () ->
+                bookingService.scrollOwnerBookings(2L, BookingState.ALL, ScrollPosition.keyset(), Limit.of(10)));
+    }
 }
\ No newline at end of file
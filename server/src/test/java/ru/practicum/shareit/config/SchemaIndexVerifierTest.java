@@ -0,0 +1,26 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(SchemaIndexVerifier.class)
+class SchemaIndexVerifierTest {
+
+    @Autowired
+    private SchemaIndexVerifier schemaIndexVerifier;
+
+    @Test
+    void findMissingIndexes_shouldFindAllIndexesCreatedByMigrations() throws Exception {
+        assertTrue(schemaIndexVerifier.findMissingIndexes().isEmpty());
+    }
+
+    @Test
+    void run_shouldPassWhenIndexesExist() {
+        assertDoesNotThrow(() -> schemaIndexVerifier.run(null));
+    }
+}
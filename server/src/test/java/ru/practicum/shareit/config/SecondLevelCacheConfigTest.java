@@ -0,0 +1,153 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.cache.CacheManager;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({SecondLevelCacheConfig.class, SecondLevelCacheEvictor.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheConfigTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private SecondLevelCacheEvictor secondLevelCacheEvictor;
+
+    @Autowired
+    private CacheManager secondLevelCacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findById_shouldServeRepeatedUserReadsFromCache() {
+        User user = createUser();
+        transaction.executeWithoutResult(status -> userRepository.findById(user.getId()).orElseThrow());
+        statistics.clear();
+
+        transaction.executeWithoutResult(status -> userRepository.findById(user.getId()).orElseThrow());
+        transaction.executeWithoutResult(status -> userRepository.findById(user.getId()).orElseThrow());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.USER_REGION).getHitCount());
+    }
+
+    @Test
+    void update_shouldReplaceCachedUser() {
+        User user = createUser();
+        transaction.executeWithoutResult(status -> userRepository.findById(user.getId())
+                .orElseThrow()
+                .setName("Новое имя"));
+
+        User reloaded = transaction.execute(status -> userRepository.findById(user.getId()).orElseThrow());
+
+        assertEquals("Новое имя", reloaded.getName());
+        assertEquals(1L, reloaded.getVersion());
+    }
+
+    @Test
+    void findByOwnerOrderById_shouldCacheResultsUntilItemsChange() {
+        User owner = createUser();
+        Item item = createItem(owner);
+        List<Long> cached = ownerItemIds(owner);
+        statistics.clear();
+
+        assertEquals(cached, ownerItemIds(owner));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        createItem(owner);
+        assertEquals(2, ownerItemIds(owner).size());
+
+        transaction.executeWithoutResult(status -> itemRepository.deleteById(item.getId()));
+        assertEquals(1, ownerItemIds(owner).size());
+    }
+
+    @Test
+    void evictItemsAfterCommit_shouldDropItemsOfDeletedOwner() {
+        User owner = createUser();
+        Item item = createItem(owner);
+        ownerItemIds(owner);
+        assertTrue(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+
+        transaction.executeWithoutResult(status -> {
+            userRepository.deleteById(owner.getId());
+            secondLevelCacheEvictor.evictItemsAfterCommit();
+            assertTrue(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+        });
+
+        assertFalse(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+        assertTrue(ownerItemIds(owner).isEmpty());
+        assertTrue(transaction.execute(status -> itemRepository.findById(item.getId())).isEmpty());
+    }
+
+    @Test
+    void secondLevelCacheMetrics_shouldReportRegionStatistics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new SecondLevelCacheConfig().secondLevelCacheMetrics(secondLevelCacheManager).bindTo(registry);
+        User user = createUser();
+
+        transaction.executeWithoutResult(status -> userRepository.findById(user.getId()).orElseThrow());
+
+        assertNotNull(registry.find("cache.gets").tag("cache", SecondLevelCacheConfig.USER_REGION).meter());
+        assertNotNull(registry.find("cache.evictions").tag("cache", SecondLevelCacheConfig.ITEM_REGION).meter());
+    }
+
+    private User createUser() {
+        return transaction.execute(status -> userRepository.save(User.builder()
+                .name("Владелец")
+                .email(UUID.randomUUID() + "@cache.test")
+                .build()));
+    }
+
+    private Item createItem(User owner) {
+        return transaction.execute(status -> itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .owner(owner.getId())
+                .build()));
+    }
+
+    private List<Long> ownerItemIds(User owner) {
+        return transaction.execute(status -> itemRepository.findByOwnerOrderById(owner.getId()).stream()
+                .map(Item::getId)
+                .toList());
+    }
+}
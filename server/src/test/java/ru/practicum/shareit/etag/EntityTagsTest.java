@@ -0,0 +1,96 @@
+package ru.practicum.shareit.etag;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import ru.practicum.shareit.exception.PreconditionFailedException;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityTagsTest {
+
+    @Test
+    void of_shouldReturnQuotedStrongTag() {
+        String tag = EntityTags.of(1L, "Дрель", true);
+
+        assertTrue(tag.matches("\"[0-9a-f]{32}\""));
+    }
+
+    @Test
+    void of_shouldBeStableForEqualParts() {
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+        assertEquals(EntityTags.of(1L, "Дрель", null, created), EntityTags.of(1L, "Дрель", null, created));
+    }
+
+    @Test
+    void versionOf_shouldReadVersionOfVersionedTag() {
+        String tag = EntityTags.versioned(7L, 1L, "Дрель");
+
+        assertEquals(7L, EntityTags.versionOf(tag));
+        assertEquals(7L, EntityTags.versionOf(" W/" + tag));
+        assertNull(EntityTags.versionOf(null));
+        assertNull(EntityTags.versionOf("*"));
+    }
+
+    @Test
+    void versionOf_withUnversionedTag_shouldThrowPreconditionFailed() {
+        assertThrows(PreconditionFailedException.class, () -> EntityTags.versionOf(EntityTags.of(1L)));
+        assertThrows(PreconditionFailedException.class, () -> EntityTags.versionOf("\"old\""));
+    }
+
+    @Test
+    void of_shouldDistinguishPartBoundaries() {
+        assertNotEquals(EntityTags.of("ab", "c"), EntityTags.of("a", "bc"));
+        assertNotEquals(EntityTags.of(1L, null), EntityTags.of(1L));
+    }
+
+    @Test
+    void conditionalGet_withoutIfNoneMatch_shouldTagResponseFromLoadedBody() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/items/1"), response);
+        AtomicInteger tagQueries = new AtomicInteger();
+
+        String body = EntityTags.conditionalGet(request, () -> String.valueOf(tagQueries.incrementAndGet()),
+                () -> new Tagged<>("Дрель", "\"loaded\""));
+
+        assertEquals("Дрель", body);
+        assertEquals("\"loaded\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, tagQueries.get());
+    }
+
+    @Test
+    void conditionalGet_withMatchingIfNoneMatch_shouldSkipLoad() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/items/1");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"current\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest request = new ServletWebRequest(servletRequest, response);
+
+        String body = EntityTags.conditionalGet(request, () -> "\"current\"", () -> {
+            throw new AssertionError("Тело не должно загружаться");
+        });
+
+        assertNull(body);
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void conditionalGet_withStaleIfNoneMatch_shouldLoadBody() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/items/1");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"old\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest request = new ServletWebRequest(servletRequest, response);
+
+        String body = EntityTags.conditionalGet(request, () -> "\"current\"", () -> new Tagged<>("Дрель",
+                "\"current\""));
+
+        assertEquals("Дрель", body);
+        assertEquals(200, response.getStatus());
+        assertEquals("\"current\"", response.getHeader(HttpHeaders.ETAG));
+    }
+}
@@ -7,14 +7,32 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.PreconditionFailedException;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,6 +49,9 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemImportService itemImportService;
+
     @Test
     void createItem_shouldReturnCreatedItem() throws Exception {
         NewItemRequest request = new NewItemRequest();
@@ -66,7 +87,7 @@ class ItemControllerTest {
                 .available(true)
                 .build();
 
-        when(itemService.getItemById(anyLong(), anyLong())).thenReturn(itemDto);
+        when(itemService.getItemById(anyLong(), anyLong())).thenReturn(new Tagged<>(itemDto, "\"abc\""));
 
         mockMvc.perform(get("/items/1")
                         .header("X-Sharer-User-Id", 1L))
@@ -75,12 +96,50 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.name").value("Тестовый предмет"));
     }
 
+    @Test
+    void suggestItems_shouldReturnSuggestions() throws Exception {
+        when(itemService.suggestItems(1L, "пред", 5))
+                .thenReturn(List.of(ItemSuggestionDto.builder().id(1L).name("Предмет 1").build()));
+
+        mockMvc.perform(get("/items/suggest")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("text", "пред")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Предмет 1"));
+    }
+
+    @Test
+    void getItemAvailability_shouldReturnBusyPeriods() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 2, 1, 0, 0);
+        when(itemService.getItemAvailability(1L, from, to)).thenReturn(ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .busy(List.of(ItemAvailabilityDto.Period.builder()
+                        .start(from.plusDays(1))
+                        .end(from.plusDays(2))
+                        .build()))
+                .build());
+
+        mockMvc.perform(get("/items/1/availability")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-02-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(1))
+                .andExpect(jsonPath("$.busy.length()").value(1))
+                .andExpect(jsonPath("$.busy[0].start").value("2030-01-02T00:00:00"));
+    }
+
     @Test
     void getUserItems_shouldReturnUserItems() throws Exception {
         ItemDto item1 = ItemDto.builder().id(1L).name("Предмет 1").build();
         ItemDto item2 = ItemDto.builder().id(2L).name("Предмет 2").build();
 
-        when(itemService.getUserItems(anyLong())).thenReturn(List.of(item1, item2));
+        when(itemService.getUserItems(anyLong())).thenReturn(new Tagged<>(List.of(item1, item2), "\"list\""));
 
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", 1L))
@@ -89,4 +148,138 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[1].id").value(2L));
     }
+
+    @Test
+    void getItemById_shouldReturnEntityTag() throws Exception {
+        when(itemService.getItemById(1L, 1L)).thenReturn(new Tagged<>(ItemDto.builder().id(1L).build(), "\"abc\""));
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(jsonPath("$.id").value(1L));
+
+        verify(itemService, never()).getItemTag(anyLong(), anyLong());
+    }
+
+    @Test
+    void getItemById_withStaleEntityTag_shouldReturnItem() throws Exception {
+        when(itemService.getItemTag(1L, 1L)).thenReturn("\"new\"");
+        when(itemService.getItemById(1L, 1L)).thenReturn(new Tagged<>(ItemDto.builder().id(1L).build(), "\"new\""));
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("If-None-Match", "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"new\""))
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    @Test
+    void getItemById_withMatchingEntityTag_shouldReturnNotModifiedWithoutLoadingItem() throws Exception {
+        when(itemService.getItemTag(1L, 1L)).thenReturn("\"abc\"");
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(content().string(""));
+
+        verify(itemService, never()).getItemById(anyLong(), anyLong());
+    }
+
+    @Test
+    void updateItem_withStaleIfMatch_shouldReturnPreconditionFailed() throws Exception {
+        when(itemService.updateItem(eq(1L), any(UpdateItemRequest.class), eq(1L), eq(1L)))
+                .thenThrow(new PreconditionFailedException("Item was modified by another request"));
+
+        mockMvc.perform(patch("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("If-Match", "\"1-aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\":false}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error").value("Item was modified by another request"));
+
+        verify(itemService, never()).getItemTag(anyLong(), anyLong());
+    }
+
+    @Test
+    void updateItem_withUnknownIfMatch_shouldReturnPreconditionFailed() throws Exception {
+        mockMvc.perform(patch("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("If-Match", "\"old\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\":false}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(itemService, never()).updateItem(anyLong(), any(UpdateItemRequest.class), anyLong(), any());
+    }
+
+    @Test
+    void getUserItems_withMatchingEntityTag_shouldReturnNotModified() throws Exception {
+        when(itemService.getUserItemsTag(1L)).thenReturn("\"list\"");
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("If-None-Match", "\"other\", \"list\""))
+                .andExpect(status().isNotModified());
+
+        verify(itemService, never()).getUserItems(anyLong());
+    }
+
+    @Test
+    void importItems_shouldStreamResultPerRow() throws Exception {
+        ItemImportService.Plan plan = new ItemImportService.Plan(1L, List.of(), List.of());
+        when(itemImportService.plan(anyLong(), anyList())).thenReturn(plan);
+        doAnswer(invocation -> {
+            Consumer<List<ItemImportResult>> results = invocation.getArgument(1);
+            results.accept(List.of(ItemImportResult.builder()
+                    .index(1)
+                    .status(ItemImportResult.Status.REJECTED)
+                    .error("Name must not be blank")
+                    .build()));
+            results.accept(List.of(ItemImportResult.builder()
+                    .index(0)
+                    .status(ItemImportResult.Status.CREATED)
+                    .item(ItemDto.builder().id(7L).name("Дрель").build())
+                    .build()));
+            return null;
+        }).when(itemImportService).execute(eq(plan), any());
+
+        MvcResult result = mockMvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Дрель\",\"description\":\"Описание\",\"available\":true},"
+                                + "{\"name\":\"\"}]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8)
+                .split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals("REJECTED", objectMapper.readTree(lines[0]).get("status").asText());
+        assertEquals(7L, objectMapper.readTree(lines[1]).get("item").get("id").asLong());
+    }
+
+    @Test
+    void importItems_withUnknownUser_shouldReturnNotFoundBeforeStreaming() throws Exception {
+        when(itemImportService.plan(anyLong(), anyList())).thenThrow(new NotFoundException("User not found"));
+
+        mockMvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", 99L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Дрель\"}]"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("User not found"));
+
+        verify(itemImportService, never()).execute(any(), any());
+    }
 }
\ No newline at end of file
@@ -4,9 +4,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -79,7 +82,7 @@ class ItemRepositoryTest {
         entityManager.persist(item2);
         entityManager.flush();
 
-        List<Item> result = itemRepository.searchAvailableItemsByText("дрель");
+        List<Item> result = itemRepository.searchAvailableItemsByText("дрель", Pageable.unpaged());
 
         assertEquals(1, result.size());
         assertEquals("Дрель аккумуляторная", result.get(0).getName());
@@ -103,7 +106,7 @@ class ItemRepositoryTest {
         entityManager.persist(item);
         entityManager.flush();
 
-        List<Item> result = itemRepository.searchAvailableItemsByText("дрель");
+        List<Item> result = itemRepository.searchAvailableItemsByText("дрель", Pageable.unpaged());
 
         assertTrue(result.isEmpty());
     }
@@ -116,10 +119,10 @@ class ItemRepositoryTest {
                 .build();
         entityManager.persist(user);
 
-        ru.practicum.shareit.request.model.ItemRequest request = ru.practicum.shareit.request.model.ItemRequest.builder()
+        ItemRequest request = ItemRequest.builder()
                 .description("Need a drill")
                 .requestor(user)
-                .created(java.time.LocalDateTime.now())
+                .created(LocalDateTime.now())
                 .build();
         entityManager.persist(request);
 
@@ -148,4 +151,59 @@ class ItemRepositoryTest {
         assertEquals(2, result.size());
         assertTrue(result.stream().allMatch(item -> item.getRequest().getId().equals(request.getId())));
     }
+
+    @Test
+    void findByRequestIdIn_shouldReturnItemsForAllRequests() {
+        User user = User.builder()
+                .name("Test User")
+                .email("test@email.com")
+                .build();
+        entityManager.persist(user);
+
+        ItemRequest request1 = ItemRequest.builder()
+                .description("Need a drill")
+                .requestor(user)
+                .created(LocalDateTime.now())
+                .build();
+        ItemRequest request2 = ItemRequest.builder()
+                .description("Need a hammer")
+                .requestor(user)
+                .created(LocalDateTime.now())
+                .build();
+        entityManager.persist(request1);
+        entityManager.persist(request2);
+
+        Item drill = Item.builder()
+                .name("Дрель")
+                .description("Description 1")
+                .available(true)
+                .owner(user.getId())
+                .request(request1)
+                .build();
+
+        Item hammer = Item.builder()
+                .name("Молоток")
+                .description("Description 2")
+                .available(true)
+                .owner(user.getId())
+                .request(request2)
+                .build();
+
+        Item unrelated = Item.builder()
+                .name("Пила")
+                .description("Description 3")
+                .available(true)
+                .owner(user.getId())
+                .build();
+
+        entityManager.persist(drill);
+        entityManager.persist(hammer);
+        entityManager.persist(unrelated);
+        entityManager.flush();
+
+        List<Item> result = itemRepository.findByRequestIdIn(List.of(request1.getId(), request2.getId()));
+
+        assertEquals(2, result.size());
+        assertTrue(result.stream().noneMatch(item -> item.getRequest() == null));
+    }
 }
\ No newline at end of file
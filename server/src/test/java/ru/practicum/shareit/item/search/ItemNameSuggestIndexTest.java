@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemNameSuggestIndexTest {
+
+    private ItemNameSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemNameSuggestIndex();
+        index.rebuild(List.of(
+                new IndexedItem(1L, "Ударная дрель", "Для бетона", true, 1L, null),
+                new IndexedItem(2L, "Дрель", "Аккумуляторная", true, 1L, null),
+                new IndexedItem(3L, "Дрель-шуруповерт", "Компактная", true, 2L, null),
+                new IndexedItem(4L, "Дрель старая", "Сломана", false, 2L, null),
+                new IndexedItem(5L, "Молоток", "Строительный", true, 2L, null)));
+    }
+
+    @Test
+    void suggest_shouldPreferNamesStartingWithQuery() {
+        List<Long> result = ids(index.suggest("дре", 10));
+
+        assertEquals(List.of(2L, 3L, 1L), result);
+    }
+
+    @Test
+    void suggest_shouldMatchEveryQueryTokenByPrefix() {
+        assertEquals(List.of(3L), ids(index.suggest("дрель шуру", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("уд дрель", 10)));
+    }
+
+    @Test
+    void suggest_shouldRespectLimit() {
+        assertEquals(List.of(2L), ids(index.suggest("дре", 1)));
+        assertTrue(index.suggest("дре", 0).isEmpty());
+    }
+
+    @Test
+    void suggest_shouldReturnOriginalName() {
+        List<ItemNameSuggestIndex.Suggestion> result = index.suggest("шуруп", 10);
+
+        assertEquals(1, result.size());
+        assertEquals("Дрель-шуруповерт", result.get(0).name());
+    }
+
+    @Test
+    void index_shouldFollowRenamesAndAvailability() {
+        index.index(new IndexedItem(5L, "Дрель перфоратор", "Строительный", true, 2L, null));
+        index.index(new IndexedItem(2L, "Дрель", "Аккумуляторная", false, 1L, null));
+
+        assertTrue(index.suggest("молот", 10).isEmpty());
+        assertEquals(List.of(5L, 3L, 1L), ids(index.suggest("дрель", 10)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void suggest_shouldScanBoundedNumberOfCandidates() {
+        index.addAll(LongStream.rangeClosed(100, 2000)
+                .mapToObj(id -> new IndexedItem(id, "Дрель " + id, "Описание", true, 1L, null))
+                .toList());
+
+        List<ItemNameSuggestIndex.Suggestion> result = index.suggest("дрель", 5);
+
+        assertEquals(5, result.size());
+        assertEquals("Дрель", result.get(0).name());
+    }
+
+    @Test
+    void suggest_shouldFindMatchBeyondCandidateLimitOfSharedPrefix() {
+        index.addAll(LongStream.range(1000, 1000 + ItemNameSuggestIndex.MAX_CANDIDATES + 100)
+                .mapToObj(id -> new IndexedItem(id, "Дрель модель " + id, "Описание", true, 1L, null))
+                .toList());
+        index.index(new IndexedItem(9999L, "Дрель ударная профессиональная 18В", "Описание", true, 1L, null));
+
+        assertEquals(List.of(9999L), ids(index.suggest("дрель 18", 5)));
+    }
+
+    private List<Long> ids(List<ItemNameSuggestIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(ItemNameSuggestIndex.Suggestion::id).toList();
+    }
+}
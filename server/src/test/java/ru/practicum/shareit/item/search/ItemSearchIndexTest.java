@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        index.rebuild(List.of(
+                new IndexedItem(1L, "Дрель аккумуляторная", "Мощная дрель с аккумулятором", true, 1L, null),
+                new IndexedItem(2L, "Молоток", "Строительный молоток для дрели не подходит", true, 1L, null),
+                new IndexedItem(3L, "Отвертка", "Крестовая отвертка", true, 2L, 10L),
+                new IndexedItem(4L, "Дрель ударная", "Сломана", false, 2L, null)));
+    }
+
+    @Test
+    void tokenize_shouldSplitLowercaseAndDeduplicate() {
+        assertEquals(List.of("дрель", "drill", "2000"), ItemSearchIndex.tokenize("Дрель, DRILL-2000 дрель"));
+        assertTrue(ItemSearchIndex.tokenize("  ").isEmpty());
+        assertTrue(ItemSearchIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void search_shouldSkipUnavailableItems() {
+        assertEquals(3, index.size());
+        List<IndexedItem> result = index.search("ударная", 0, 10);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void search_shouldRankNameMatchesAboveDescriptionMatches() {
+        List<IndexedItem> result = index.search("дрел", 0, 10);
+
+        assertEquals(List.of(1L, 2L), result.stream().map(IndexedItem::id).toList());
+    }
+
+    @Test
+    void search_shouldRequireAllQueryTokens() {
+        List<IndexedItem> result = index.search("дрель мощная", 0, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).id());
+    }
+
+    @Test
+    void search_shouldApplyPagination() {
+        assertEquals(List.of(2L), index.search("дрел", 1, 10).stream().map(IndexedItem::id).toList());
+        assertEquals(List.of(1L), index.search("дрел", 0, 1).stream().map(IndexedItem::id).toList());
+        assertTrue(index.search("дрел", 5, 10).isEmpty());
+    }
+
+    @Test
+    void index_shouldReplacePreviousVersionOfItem() {
+        index.index(new IndexedItem(3L, "Шуруповерт", "Аккумуляторный", true, 2L, 10L));
+
+        assertTrue(index.search("отвертка", 0, 10).isEmpty());
+        assertEquals(3L, index.search("шуруповерт", 0, 10).get(0).id());
+    }
+
+    @Test
+    void index_shouldDropItemThatBecameUnavailable() {
+        index.index(new IndexedItem(1L, "Дрель аккумуляторная", "Мощная дрель с аккумулятором", false, 1L, null));
+
+        assertEquals(List.of(2L), index.search("дрел", 0, 10).stream().map(IndexedItem::id).toList());
+        assertEquals(2, index.size());
+    }
+}
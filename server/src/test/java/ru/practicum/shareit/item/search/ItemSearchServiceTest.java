@@ -0,0 +1,156 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.transaction.TestTransaction;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemMapperImpl;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ItemSearchService.class, ItemMapperImpl.class})
+@TestPropertySource(properties = "shareit.search.warm-up-batch-size=2")
+class ItemSearchServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ItemSearchService itemSearchService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemMapper itemMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(User.builder()
+                .name("Владелец")
+                .email("owner@email.com")
+                .build());
+    }
+
+    @Test
+    void search_shouldUseDatabaseUntilIndexIsWarmedUp() {
+        persistItem("Дрель", "Мощная дрель", true);
+        ItemSearchService coldService = new ItemSearchService(itemRepository, itemMapper, dataSource,
+                ItemSearchService.ENGINE_MEMORY, 2);
+
+        assertFalse(coldService.isReady());
+        List<ItemDto> result = coldService.search("дрель", 0, 10);
+
+        assertEquals(1, result.size());
+        assertEquals("Дрель", result.get(0).getName());
+    }
+
+    @Test
+    void warmUp_shouldIndexAvailableItemsInBatches() {
+        persistItem("Дрель", "Мощная дрель", true);
+        persistItem("Дрель ударная", "Для бетона", true);
+        persistItem("Дрель старая", "Сломана", false);
+        persistItem("Молоток", "Строительный", true);
+
+        itemSearchService.warmUp();
+
+        assertTrue(itemSearchService.isReady());
+        assertEquals(2, itemSearchService.search("дрел", 0, 10).size());
+        assertEquals(1, itemSearchService.search("молоток", 0, 10).size());
+    }
+
+    @Test
+    void onItemSaved_shouldNotIndexItemWhenTransactionRollsBack() {
+        itemSearchService.warmUp();
+
+        itemSearchService.onItemSaved(newItem(100L, "Лобзик"));
+        assertTrue(itemSearchService.search("лобзик", 0, 10).isEmpty());
+
+        TestTransaction.end();
+
+        assertTrue(itemSearchService.search("лобзик", 0, 10).isEmpty());
+    }
+
+    @Test
+    void onItemSaved_shouldIndexImmediatelyWithoutTransaction() {
+        itemSearchService.warmUp();
+        TestTransaction.end();
+
+        itemSearchService.onItemSaved(newItem(100L, "Лобзик"));
+
+        List<ItemDto> result = itemSearchService.search("лобзик", 0, 10);
+        assertEquals(1, result.size());
+        assertEquals(100L, result.get(0).getId());
+    }
+
+    @Test
+    void onOwnerDeleted_shouldKeepItemsWhenTransactionRollsBack() {
+        persistItem("Лобзик", "Ручной", true);
+        itemSearchService.warmUp();
+
+        itemSearchService.onOwnerDeleted(owner.getId());
+        assertEquals(1, itemSearchService.search("лобзик", 0, 10).size());
+
+        TestTransaction.end();
+
+        assertEquals(1, itemSearchService.search("лобзик", 0, 10).size());
+    }
+
+    @Test
+    void suggest_shouldAnswerFromIndexWithoutDatabase() {
+        ItemSearchService coldService = new ItemSearchService(itemRepository, itemMapper, dataSource,
+                ItemSearchService.ENGINE_DATABASE, 2);
+        persistItem("Дрель", "Мощная дрель", true);
+        persistItem("Дрель ударная", "Для бетона", true);
+
+        assertTrue(coldService.suggest("дре", 10).isEmpty());
+
+        coldService.warmUp();
+
+        List<ItemSuggestionDto> result = coldService.suggest("дре", 10);
+        assertEquals(List.of("Дрель", "Дрель ударная"), result.stream().map(ItemSuggestionDto::getName).toList());
+    }
+
+    @Test
+    void search_shouldReturnEmptyListForBlankText() {
+        assertTrue(itemSearchService.search(" ", 0, 10).isEmpty());
+    }
+
+    private Item newItem(Long id, String name) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description("Ручной")
+                .available(true)
+                .owner(owner.getId())
+                .build();
+    }
+
+    private Item persistItem(String name, String description, boolean available) {
+        return entityManager.persistAndFlush(Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner.getId())
+                .build());
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ItemBookingSummaryService.class)
+class ItemBookingSummaryServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ItemBookingSummaryService summaryService;
+
+    @Autowired
+    private ItemBookingSummaryRepository summaryRepository;
+
+    private User booker;
+    private Item item;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        User owner = entityManager.persist(User.builder().name("Владелец").email("owner@email.com").build());
+        booker = entityManager.persist(User.builder().name("Арендатор").email("booker@email.com").build());
+        item = entityManager.persist(Item.builder()
+                .name("Дрель")
+                .description("Мощная дрель")
+                .available(true)
+                .owner(owner.getId())
+                .build());
+    }
+
+    @Test
+    void refresh_shouldStoreLastAndNextApprovedBookings() {
+        Booking last = persistBooking(now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+        Booking next = persistBooking(now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED);
+        persistBooking(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+        summaryService.create(item.getId());
+
+        summaryService.refresh(item.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemBookingSummary summary = summaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(last.getId(), summary.getLastBookingId());
+        assertEquals(booker.getId(), summary.getLastBookerId());
+        assertEquals(next.getId(), summary.getNextBookingId());
+        assertEquals(booker.getId(), summary.getNextBookerId());
+        assertEquals(next.getStart().withNano(0), summary.getNextStart().withNano(0));
+    }
+
+    @Test
+    void rollForward_shouldMoveStartedBookingIntoLast() {
+        Booking started = persistBooking(now.minusHours(1), now.plusDays(1), BookingStatus.APPROVED);
+        Booking next = persistBooking(now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED);
+        summaryRepository.save(ItemBookingSummary.builder()
+                .itemId(item.getId())
+                .nextBookingId(started.getId())
+                .nextBookerId(booker.getId())
+                .nextStart(started.getStart())
+                .refreshedAt(now.minusDays(1))
+                .build());
+
+        int refreshed = summaryService.rollForward();
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemBookingSummary summary = summaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(1, refreshed);
+        assertEquals(started.getId(), summary.getLastBookingId());
+        assertEquals(next.getId(), summary.getNextBookingId());
+        assertEquals(0, summaryService.rollForward());
+    }
+
+    @Test
+    void findSummaries_shouldComputeMissingAndStaleSummariesWithoutStoringThem() {
+        Booking started = persistBooking(now.minusHours(1), now.plusDays(1), BookingStatus.APPROVED);
+        summaryRepository.save(ItemBookingSummary.builder()
+                .itemId(item.getId())
+                .nextBookingId(started.getId())
+                .nextBookerId(booker.getId())
+                .nextStart(started.getStart())
+                .refreshedAt(now.minusDays(1))
+                .build());
+        Item other = entityManager.persist(Item.builder()
+                .name("Молоток")
+                .description("Строительный")
+                .available(true)
+                .owner(item.getOwner())
+                .build());
+
+        Map<Long, ItemBookingSummary> summaries = summaryService.findSummaries(List.of(item.getId(), other.getId()));
+
+        assertEquals(started.getId(), summaries.get(item.getId()).getLastBookingId());
+        assertNull(summaries.get(item.getId()).getNextBookingId());
+        assertNull(summaries.get(other.getId()).getLastBookingId());
+        assertEquals(started.getId(), summaryRepository.findById(item.getId()).orElseThrow().getNextBookingId());
+    }
+
+    private Booking persistBooking(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return entityManager.persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemMapperImpl;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shareit.item.import.max-items=100",
+        "shareit.item.import.chunk-size=2"
+})
+@Import({ItemImportService.class, ItemBookingSummaryService.class, UserExistenceService.class, ItemMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ItemImportServiceTest {
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserExistenceService userExistenceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private ItemSearchService itemSearchService;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Владелец").email("owner@import.test").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("item_booking_summary", "items", "requests", "users")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void execute_shouldCreateValidRowsAndRejectInvalidOnes() {
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Нужна дрель")
+                .requestor(owner)
+                .created(LocalDateTime.now())
+                .build());
+        List<NewItemRequest> rows = List.of(
+                newItem("Дрель", true, null),
+                newItem(" ", true, null),
+                newItem("Пила", true, -1L),
+                newItem("Лестница", false, request.getId()),
+                newItem("Палатка", null, null),
+                newItem("Каяк", true, null));
+
+        List<List<ItemImportResult>> batches = new ArrayList<>();
+        itemImportService.execute(itemImportService.plan(owner.getId(), rows), batches::add);
+        List<ItemImportResult> results = batches.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(ItemImportResult::getIndex))
+                .collect(Collectors.toList());
+
+        assertEquals(3, batches.size());
+        assertEquals(List.of(ItemImportResult.Status.CREATED, ItemImportResult.Status.REJECTED,
+                        ItemImportResult.Status.REJECTED, ItemImportResult.Status.CREATED,
+                        ItemImportResult.Status.REJECTED, ItemImportResult.Status.CREATED),
+                results.stream().map(ItemImportResult::getStatus).collect(Collectors.toList()));
+        assertEquals("Name must not be blank", results.get(1).getError());
+        assertEquals("Request not found", results.get(2).getError());
+        assertEquals("Availability must be specified", results.get(4).getError());
+        assertEquals(request.getId(), results.get(3).getItem().getRequestId());
+        assertEquals(owner.getId(), results.get(5).getItem().getOwner());
+        assertEquals(3, count("items"));
+        assertEquals(3, count("item_booking_summary"));
+        verify(itemSearchService, times(3)).onItemSaved(any(Item.class));
+    }
+
+    @Test
+    void execute_shouldBatchInsertsWithinChunk() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        ItemImportService.Plan plan = itemImportService.plan(owner.getId(), IntStream.range(0, 40)
+                .mapToObj(i -> newItem("Вещь " + i, true, null))
+                .collect(Collectors.toList()));
+        statistics.clear();
+
+        itemImportService.execute(plan, results -> { });
+
+        assertEquals(40, count("items"));
+        assertEquals(40, count("item_booking_summary"));
+        assertTrue(statistics.getPrepareStatementCount() <= 2 * 20 + 2);
+    }
+
+    @Test
+    void plan_shouldResolveRequestsInOneQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userExistenceService.exists(owner.getId());
+        statistics.clear();
+
+        ItemImportService.Plan plan = itemImportService.plan(owner.getId(), Stream.of(1L, 2L, 3L, 2L)
+                .map(requestId -> newItem("Дрель", true, requestId))
+                .collect(Collectors.toList()));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(plan.rows().isEmpty());
+        assertEquals(4, plan.rejected().size());
+    }
+
+    @Test
+    void plan_withUnknownUser_shouldThrowNotFound() {
+        assertThrows(NotFoundException.class, () -> itemImportService.plan(-1L, List.of(newItem("Дрель", true,
+                null))));
+    }
+
+    @Test
+    void plan_withTooManyOrNoItems_shouldThrowValidationException() {
+        List<NewItemRequest> tooMany = IntStream.range(0, 101)
+                .mapToObj(i -> newItem("Вещь", true, null))
+                .collect(Collectors.toList());
+
+        assertThrows(ValidationException.class, () -> itemImportService.plan(owner.getId(), tooMany));
+        assertThrows(ValidationException.class, () -> itemImportService.plan(owner.getId(), List.of()));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private static NewItemRequest newItem(String name, Boolean available, Long requestId) {
+        NewItemRequest request = new NewItemRequest();
+        request.setName(name);
+        request.setDescription("Описание");
+        request.setAvailable(available);
+        request.setRequestId(requestId);
+        return request;
+    }
+}
@@ -1,5 +1,8 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,18 +10,29 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityService;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchService;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@DataJpaTest
-@Import(ItemServiceImpl.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemServiceImpl.class, ItemBookingSummaryService.class})
 class ItemServiceImplIntegrationTest {
 
     @Autowired
@@ -33,9 +47,18 @@ class ItemServiceImplIntegrationTest {
     @Autowired
     private ItemServiceImpl itemService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @MockBean
     private ItemMapper itemMapper;
 
+    @MockBean
+    private ItemSearchService itemSearchService;
+
+    @MockBean
+    private BookingAvailabilityService bookingAvailabilityService;
+
     @Test
     void getUserItems_shouldReturnUserItems() {
         User user = User.builder()
@@ -73,10 +96,151 @@ class ItemServiceImplIntegrationTest {
                     .build();
         });
 
-        var result = itemService.getUserItems(user.getId());
+        var result = itemService.getUserItems(user.getId()).body();
 
         Assertions.assertEquals(2, result.size());
         Assertions.assertEquals("Предмет 1", result.get(0).getName());
         Assertions.assertEquals("Предмет 2", result.get(1).getName());
     }
+
+    @Test
+    void getUserItems_shouldUseConstantNumberOfStatements() {
+        User owner = entityManager.persist(User.builder()
+                .name("Владелец")
+                .email("owner@email.com")
+                .build());
+        User booker = entityManager.persist(User.builder()
+                .name("Арендатор")
+                .email("booker@email.com")
+                .build());
+
+        when(itemMapper.toItemDto(any(Item.class))).thenAnswer(invocation -> {
+            Item item = invocation.getArgument(0);
+            return ItemDto.builder()
+                    .id(item.getId())
+                    .name(item.getName())
+                    .build();
+        });
+
+        persistItemsWithHistory(owner, booker, 2);
+        long statementsForFewItems = countStatements(() -> itemService.getUserItems(owner.getId()));
+
+        persistItemsWithHistory(owner, booker, 20);
+        long statementsForManyItems = countStatements(() -> itemService.getUserItems(owner.getId()));
+        List<ItemDto> result = itemService.getUserItems(owner.getId()).body();
+
+        Assertions.assertEquals(22, result.size());
+        Assertions.assertTrue(statementsForFewItems > 0);
+        Assertions.assertEquals(statementsForFewItems, statementsForManyItems);
+        Assertions.assertTrue(result.stream().allMatch(dto -> dto.getLastBooking() != null
+                && dto.getNextBooking() != null
+                && dto.getComments().size() == 1));
+        Assertions.assertTrue(result.stream()
+                .allMatch(dto -> "Арендатор".equals(dto.getComments().get(0).getAuthorName())));
+    }
+
+    @Test
+    void getItemTag_shouldChangeWithItemCommentsAndAuthors() {
+        User owner = entityManager.persist(User.builder()
+                .name("Владелец")
+                .email("owner@email.com")
+                .build());
+        User booker = entityManager.persist(User.builder()
+                .name("Арендатор")
+                .email("booker@email.com")
+                .build());
+        persistItemsWithHistory(owner, booker, 1);
+        Long itemId = itemRepository.findByOwnerOrderById(owner.getId()).get(0).getId();
+
+        String ownerTag = itemService.getItemTag(owner.getId(), itemId);
+        String ownerListTag = itemService.getUserItemsTag(owner.getId());
+
+        Assertions.assertEquals(ownerTag, itemService.getItemTag(owner.getId(), itemId));
+        Assertions.assertNotEquals(ownerTag, itemService.getItemTag(booker.getId(), itemId));
+        verify(itemMapper, never()).toItemDto(any(Item.class));
+
+        User author = entityManager.find(User.class, booker.getId());
+        author.setName("Новое имя");
+        entityManager.flush();
+        String renamedAuthorTag = itemService.getItemTag(owner.getId(), itemId);
+        Assertions.assertNotEquals(ownerTag, renamedAuthorTag);
+        Assertions.assertEquals(EntityTags.versionOf(ownerTag), EntityTags.versionOf(renamedAuthorTag));
+
+        Item item = entityManager.find(Item.class, itemId);
+        item.setAvailable(false);
+        entityManager.flush();
+        Assertions.assertNotEquals(renamedAuthorTag, itemService.getItemTag(owner.getId(), itemId));
+        Assertions.assertNotEquals(ownerListTag, itemService.getUserItemsTag(owner.getId()));
+    }
+
+    @Test
+    void loadedTags_shouldMatchLightweightTags() {
+        User owner = entityManager.persist(User.builder()
+                .name("Владелец")
+                .email("owner@email.com")
+                .build());
+        User booker = entityManager.persist(User.builder()
+                .name("Арендатор")
+                .email("booker@email.com")
+                .build());
+        persistItemsWithHistory(owner, booker, 3);
+        Long itemId = itemRepository.findByOwnerOrderById(owner.getId()).get(1).getId();
+        when(itemMapper.toItemDto(any(Item.class))).thenAnswer(invocation -> ItemDto.builder()
+                .id(invocation.<Item>getArgument(0).getId())
+                .build());
+
+        Assertions.assertEquals(itemService.getItemTag(owner.getId(), itemId),
+                itemService.getItemById(owner.getId(), itemId).tag());
+        Assertions.assertEquals(itemService.getItemTag(booker.getId(), itemId),
+                itemService.getItemById(booker.getId(), itemId).tag());
+        Assertions.assertEquals(itemService.getUserItemsTag(owner.getId()),
+                itemService.getUserItems(owner.getId()).tag());
+        Assertions.assertEquals(itemService.getUserItemsTag(booker.getId()),
+                itemService.getUserItems(booker.getId()).tag());
+    }
+
+    private void persistItemsWithHistory(User owner, User booker, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Item item = entityManager.persist(Item.builder()
+                    .name("Предмет " + i)
+                    .description("Описание " + i)
+                    .available(true)
+                    .owner(owner.getId())
+                    .build());
+            entityManager.persist(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.APPROVED)
+                    .start(now.minusDays(3))
+                    .end(now.minusDays(2))
+                    .build());
+            entityManager.persist(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.APPROVED)
+                    .start(now.plusDays(2))
+                    .end(now.plusDays(3))
+                    .build());
+            entityManager.persist(Comment.builder()
+                    .text("Комментарий " + i)
+                    .item(item)
+                    .author(booker)
+                    .created(now)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = statistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
 }
\ No newline at end of file
@@ -5,21 +5,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityService;
+import ru.practicum.shareit.booking.availability.BusyPeriod;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.EliminatingConflict;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.PreconditionFailedException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchService;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -27,6 +36,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -57,6 +67,15 @@ class ItemServiceImplTest {
     @Mock
     private ItemMapper itemMapper;
 
+    @Mock
+    private ItemSearchService itemSearchService;
+
+    @Mock
+    private BookingAvailabilityService bookingAvailabilityService;
+
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -82,6 +101,8 @@ class ItemServiceImplTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         verify(itemRepository).save(any());
+        verify(itemSearchService).onItemSaved(item);
+        verify(itemBookingSummaryService).create(1L);
     }
 
     @Test
@@ -147,13 +168,48 @@ class ItemServiceImplTest {
         ItemDto responseDto = ItemDto.builder().id(itemId).build();
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(existingItem));
-        when(itemRepository.save(any())).thenReturn(updatedItem);
+        when(itemRepository.saveAndFlush(any())).thenReturn(updatedItem);
         when(itemMapper.toItemDto(any())).thenReturn(responseDto);
 
-        ItemDto result = itemService.updateItem(userId, updateItemRequest, itemId);
+        ItemDto result = itemService.updateItem(userId, updateItemRequest, itemId, null);
 
         assertNotNull(result);
-        verify(itemRepository).save(any());
+        verify(itemRepository).saveAndFlush(any());
+    }
+
+    @Test
+    void updateItem_whenItemChangedConcurrently_shouldThrowConflict() {
+        Long userId = 1L;
+        Long itemId = 1L;
+        UpdateItemRequest updateItemRequest = new UpdateItemRequest();
+        updateItemRequest.setAvailable(false);
+        Item existingItem = Item.builder()
+                .id(itemId)
+                .name("Дрель")
+                .description("Описание")
+                .available(true)
+                .owner(userId)
+                .version(3L)
+                .build();
+
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(existingItem));
+        when(itemRepository.saveAndFlush(any())).thenThrow(new ObjectOptimisticLockingFailureException(Item.class, itemId));
+
+        assertThrows(EliminatingConflict.class, () -> itemService.updateItem(userId, updateItemRequest, itemId, null));
+        verify(itemSearchService, never()).onItemSaved(any());
+    }
+
+    @Test
+    void updateItem_withStaleExpectedVersion_shouldThrowPreconditionFailed() {
+        UpdateItemRequest updateItemRequest = new UpdateItemRequest();
+        updateItemRequest.setAvailable(false);
+        Item existingItem = Item.builder().id(1L).owner(1L).version(4L).build();
+
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(existingItem));
+
+        assertThrows(PreconditionFailedException.class, () -> itemService.updateItem(1L, updateItemRequest, 1L, 3L));
+        verify(itemRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(itemMapper);
     }
 
     @Test
@@ -166,7 +222,7 @@ class ItemServiceImplTest {
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
 
-        assertThrows(NotFoundException.class, () -> itemService.updateItem(userId, updateItemRequest, itemId));
+        assertThrows(NotFoundException.class, () -> itemService.updateItem(userId, updateItemRequest, itemId, null));
 
         verify(userRepository, never()).findById(any());
     }
@@ -177,25 +233,30 @@ class ItemServiceImplTest {
         Long itemId = 1L;
 
         User owner = User.builder().id(userId).build();
-        Item item = Item.builder().id(itemId).owner(userId).build();
-        Booking lastBooking = Booking.builder().id(1L).booker(owner).build();
-        Booking nextBooking = Booking.builder().id(2L).booker(owner).build();
-        Comment comment = Comment.builder().id(1L).author(owner).build();
+        Item item = Item.builder().id(itemId).owner(userId).version(0L).build();
+        ItemBookingSummary summary = ItemBookingSummary.builder()
+                .itemId(itemId)
+                .lastBookingId(1L)
+                .lastBookerId(3L)
+                .nextBookingId(2L)
+                .nextBookerId(4L)
+                .build();
+        Comment comment = Comment.builder().id(1L).item(item).author(owner).build();
         ItemDto itemDto = ItemDto.builder().id(itemId).build();
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(itemMapper.toItemDto(item)).thenReturn(itemDto);
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByEndDesc(
-                eq(itemId), eq(BookingStatus.APPROVED), any(LocalDateTime.class))).thenReturn(Optional.of(lastBooking));
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
-                eq(itemId), eq(BookingStatus.APPROVED), any(LocalDateTime.class))).thenReturn(Optional.of(nextBooking));
+        when(itemBookingSummaryService.findSummaries(List.of(itemId))).thenReturn(Map.of(itemId, summary));
         when(commentRepository.findByItemId(itemId)).thenReturn(List.of(comment));
 
-        ItemDto result = itemService.getItemById(userId, itemId);
+        ItemDto result = itemService.getItemById(userId, itemId).body();
 
         assertNotNull(result);
-        verify(bookingRepository).findFirstByItemIdAndStatusAndStartBeforeOrderByEndDesc(any(), any(), any());
-        verify(bookingRepository).findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(any(), any(), any());
+        assertEquals(1L, result.getLastBooking().getId());
+        assertEquals(3L, result.getLastBooking().getBookerId());
+        assertEquals(2L, result.getNextBooking().getId());
+        assertEquals(4L, result.getNextBooking().getBookerId());
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -204,17 +265,17 @@ class ItemServiceImplTest {
         Long itemId = 1L;
 
         User owner = User.builder().id(1L).build();
-        Item item = Item.builder().id(itemId).owner(1L).build();
+        Item item = Item.builder().id(itemId).owner(1L).version(0L).build();
         ItemDto itemDto = ItemDto.builder().id(itemId).build();
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(itemMapper.toItemDto(item)).thenReturn(itemDto);
 
-        ItemDto result = itemService.getItemById(userId, itemId);
+        ItemDto result = itemService.getItemById(userId, itemId).body();
 
         assertNotNull(result);
-        verify(bookingRepository, never()).findFirstByItemIdAndStatusAndStartBeforeOrderByEndDesc(any(), any(), any());
-        verify(bookingRepository, never()).findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(any(), any(), any());
+        assertNull(result.getLastBooking());
+        verifyNoInteractions(itemBookingSummaryService);
     }
 
     @Test
@@ -222,29 +283,49 @@ class ItemServiceImplTest {
         Long userId = 1L;
 
         User owner = User.builder().id(userId).build();
-        Item item = Item.builder().id(1L).owner(userId).build();
+        Item item = Item.builder().id(1L).owner(userId).version(0L).build();
         ItemDto itemDto = ItemDto.builder().id(1L).build();
 
-        Booking lastBooking = Booking.builder()
-                .id(1L)
-                .booker(owner)
+        ItemBookingSummary summary = ItemBookingSummary.builder()
+                .itemId(1L)
+                .lastBookingId(1L)
+                .lastBookerId(userId)
+                .nextBookingId(2L)
+                .nextBookerId(userId)
                 .build();
-        Booking nextBooking = Booking.builder()
-                .id(2L)
-                .booker(owner)
+        Comment comment = Comment.builder()
+                .id(1L)
+                .text("Комментарий")
+                .item(item)
+                .author(owner)
                 .build();
 
         when(itemRepository.findByOwnerOrderById(userId)).thenReturn(List.of(item));
         when(itemMapper.toItemDto(item)).thenReturn(itemDto);
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByEndDesc(
-                any(), any(), any(LocalDateTime.class))).thenReturn(Optional.of(lastBooking));
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
-                any(), any(), any(LocalDateTime.class))).thenReturn(Optional.of(nextBooking));
+        when(itemBookingSummaryService.findSummaries(List.of(1L))).thenReturn(Map.of(1L, summary));
+        when(commentRepository.findByItemIdIn(List.of(1L))).thenReturn(List.of(comment));
 
-        List<ItemDto> result = itemService.getUserItems(userId);
+        List<ItemDto> result = itemService.getUserItems(userId).body();
 
         assertNotNull(result);
         assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getLastBooking().getId());
+        assertEquals(2L, result.get(0).getNextBooking().getId());
+        assertEquals(1, result.get(0).getComments().size());
+        verifyNoInteractions(bookingRepository);
+        verify(commentRepository, never()).findByItemId(any());
+    }
+
+    @Test
+    void getUserItems_shouldReturnEmptyListWithoutLoadingBookings() {
+        Long userId = 1L;
+
+        when(itemRepository.findByOwnerOrderById(userId)).thenReturn(List.of());
+
+        List<ItemDto> result = itemService.getUserItems(userId).body();
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(itemBookingSummaryService, commentRepository);
     }
 
     @Test
@@ -252,24 +333,75 @@ class ItemServiceImplTest {
         Long userId = 1L;
         String text = "дрель";
 
-        Item item = Item.builder().id(1L).available(true).owner(1L).build();
         ItemDto itemDto = ItemDto.builder().id(1L).build();
 
-        when(itemRepository.searchAvailableItemsByText(text)).thenReturn(List.of(item));
-        when(itemMapper.toItemDto(item)).thenReturn(itemDto);
+        when(itemSearchService.search(text, 0, 10)).thenReturn(List.of(itemDto));
 
-        List<ItemDto> result = itemService.searchAvailableItems(userId, text);
+        List<ItemDto> result = itemService.searchAvailableItems(userId, text, 0, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
     }
 
+    @Test
+    void getItemAvailability_shouldReturnBusyPeriods() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusMonths(1);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(bookingAvailabilityService.findBusyPeriods(1L, from, to))
+                .thenReturn(List.of(new BusyPeriod(from.plusDays(1), from.plusDays(3))));
+
+        ItemAvailabilityDto result = itemService.getItemAvailability(1L, from, to);
+
+        assertEquals(1L, result.getItemId());
+        assertEquals(1, result.getBusy().size());
+        assertEquals(from.plusDays(1), result.getBusy().get(0).getStart());
+        assertEquals(from.plusDays(3), result.getBusy().get(0).getEnd());
+    }
+
+    @Test
+    void getItemAvailability_shouldRejectInvalidRange() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        assertThrows(ValidationException.class, () -> itemService.getItemAvailability(1L, from, from));
+        assertThrows(ValidationException.class, () -> itemService.getItemAvailability(1L, from, from.plusYears(2)));
+        verifyNoInteractions(itemRepository, bookingAvailabilityService);
+    }
+
+    @Test
+    void getItemAvailability_shouldThrowWhenItemNotFound() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemService.getItemAvailability(1L, from, from.plusDays(1)));
+    }
+
+    @Test
+    void suggestItems_shouldCapSuggestionCount() {
+        ItemSuggestionDto suggestion = ItemSuggestionDto.builder().id(1L).name("Дрель").build();
+
+        when(itemSearchService.suggest("дре", 50)).thenReturn(List.of(suggestion));
+
+        List<ItemSuggestionDto> result = itemService.suggestItems(1L, "дре", 1000);
+
+        assertEquals(List.of(suggestion), result);
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void suggestItems_shouldReturnEmptyListWhenTextBlank() {
+        List<ItemSuggestionDto> result = itemService.suggestItems(1L, " ", 10);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(itemSearchService);
+    }
+
     @Test
     void searchAvailableItems_shouldReturnEmptyListWhenTextBlank() {
         Long userId = 1L;
         String text = " ";
 
-        List<ItemDto> result = itemService.searchAvailableItems(userId, text);
+        List<ItemDto> result = itemService.searchAvailableItems(userId, text, 0, 10);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -359,7 +491,7 @@ class ItemServiceImplTest {
 
         when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> itemService.updateItem(userId, updateItemRequest, itemId));
+        assertThrows(NotFoundException.class, () -> itemService.updateItem(userId, updateItemRequest, itemId, null));
 
         verify(userRepository, never()).findById(any());
     }
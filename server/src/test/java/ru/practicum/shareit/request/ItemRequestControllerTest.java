@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -14,6 +15,8 @@ import ru.practicum.shareit.request.service.ItemRequestService;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -89,7 +92,8 @@ class ItemRequestControllerTest {
                 .description("Нужна дрель")
                 .build();
 
-        when(itemRequestService.getRequestById(anyLong(), anyLong())).thenReturn(response);
+        when(itemRequestService.getRequestById(anyLong(), anyLong()))
+                .thenReturn(new Tagged<>(response, "\"request-1\""));
 
         mockMvc.perform(get("/requests/1")
                         .header("X-Sharer-User-Id", 1L))
@@ -97,4 +101,16 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.description").value("Нужна дрель"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRequestById_withMatchingEntityTag_shouldReturnNotModified() throws Exception {
+        when(itemRequestService.getRequestTag(1L, 2L)).thenReturn("\"request-2\"");
+
+        mockMvc.perform(get("/requests/2")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("If-None-Match", "\"request-2\""))
+                .andExpect(status().isNotModified());
+
+        verify(itemRequestService, never()).getRequestById(anyLong(), anyLong());
+    }
+}
@@ -7,8 +7,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemVersionView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequestMapper;
@@ -18,6 +20,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -26,6 +29,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -38,6 +42,9 @@ class ItemRequestServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserExistenceService userExistenceService;
+
     @Mock
     private ItemRepository itemRepository;
 
@@ -123,9 +130,9 @@ class ItemRequestServiceImplTest {
                 .items(Collections.emptyList())
                 .build();
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceService.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findByRequestorIdOrderByCreatedDesc(userId)).thenReturn(requests);
-        when(itemRepository.findByRequestId(anyLong())).thenReturn(Collections.emptyList());
+        when(itemRepository.findByRequestIdIn(anyList())).thenReturn(Collections.emptyList());
 
         when(itemRequestMapper.toItemRequestResponse(itemRequest)).thenReturn(response);
 
@@ -133,7 +140,7 @@ class ItemRequestServiceImplTest {
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, times(1)).findByRequestorIdOrderByCreatedDesc(userId);
     }
 
@@ -141,11 +148,11 @@ class ItemRequestServiceImplTest {
     void getUserRequests_WhenUserNotFound_ShouldThrowNotFoundException() {
         Long userId = 1L;
 
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userExistenceService.exists(userId)).thenReturn(false);
 
         assertThrows(NotFoundException.class, () ->
                 itemRequestService.getUserRequests(userId));
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, never()).findByRequestorIdOrderByCreatedDesc(anyLong());
     }
 
@@ -174,10 +181,10 @@ class ItemRequestServiceImplTest {
                 .items(Collections.emptyList())
                 .build();
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceService.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findByRequestorIdNotOrderByCreatedDesc(userId, pageable))
                 .thenReturn(requests);
-        when(itemRepository.findByRequestId(anyLong())).thenReturn(Collections.emptyList());
+        when(itemRepository.findByRequestIdIn(anyList())).thenReturn(Collections.emptyList());
 
         when(itemRequestMapper.toItemRequestResponse(any(ItemRequest.class))).thenReturn(expectedResponse);
 
@@ -185,7 +192,7 @@ class ItemRequestServiceImplTest {
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, times(1))
                 .findByRequestorIdNotOrderByCreatedDesc(userId, pageable);
         verify(itemRequestMapper, times(1)).toItemRequestResponse(any(ItemRequest.class));
@@ -197,11 +204,11 @@ class ItemRequestServiceImplTest {
         Integer from = 0;
         Integer size = 10;
 
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userExistenceService.exists(userId)).thenReturn(false);
 
         assertThrows(NotFoundException.class, () ->
                 itemRequestService.getOtherUsersRequests(userId, from, size));
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, never()).findByRequestorIdNotOrderByCreatedDesc(anyLong(), any());
     }
 
@@ -218,6 +225,7 @@ class ItemRequestServiceImplTest {
         itemRequest.setDescription("Test request");
         itemRequest.setRequestor(user);
         itemRequest.setCreated(LocalDateTime.now());
+        itemRequest.setVersion(0L);
 
         ItemRequestResponse expectedResponse = ItemRequestResponse.builder()
                 .id(requestId)
@@ -226,16 +234,16 @@ class ItemRequestServiceImplTest {
                 .items(Collections.emptyList())
                 .build();
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceService.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.of(itemRequest));
         when(itemRepository.findByRequestId(requestId)).thenReturn(Collections.emptyList());
 
         when(itemRequestMapper.toItemRequestResponse(itemRequest)).thenReturn(expectedResponse);
 
-        ItemRequestResponse result = itemRequestService.getRequestById(userId, requestId);
+        ItemRequestResponse result = itemRequestService.getRequestById(userId, requestId).body();
 
         assertNotNull(result);
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, times(1)).findById(requestId);
         verify(itemRepository, times(1)).findByRequestId(requestId);
         verify(itemRequestMapper, times(1)).toItemRequestResponse(itemRequest);
@@ -246,11 +254,11 @@ class ItemRequestServiceImplTest {
         Long userId = 1L;
         Long requestId = 1L;
 
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userExistenceService.exists(userId)).thenReturn(false);
 
         assertThrows(NotFoundException.class, () ->
                 itemRequestService.getRequestById(userId, requestId));
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, never()).findById(anyLong());
     }
 
@@ -259,12 +267,12 @@ class ItemRequestServiceImplTest {
         Long userId = 1L;
         Long requestId = 1L;
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceService.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () ->
                 itemRequestService.getRequestById(userId, requestId));
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, times(1)).findById(requestId);
     }
 
@@ -293,10 +301,10 @@ class ItemRequestServiceImplTest {
                 .items(Collections.emptyList())
                 .build();
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceService.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findByRequestorIdNotOrderByCreatedDesc(userId, pageable))
                 .thenReturn(requests);
-        when(itemRepository.findByRequestId(anyLong())).thenReturn(Collections.emptyList());
+        when(itemRepository.findByRequestIdIn(anyList())).thenReturn(Collections.emptyList());
 
         when(itemRequestMapper.toItemRequestResponse(any(ItemRequest.class))).thenReturn(expectedResponse);
 
@@ -313,7 +321,7 @@ class ItemRequestServiceImplTest {
     void getUserRequests_WhenNoRequests_ShouldReturnEmptyList() {
         Long userId = 1L;
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceService.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findByRequestorIdOrderByCreatedDesc(userId))
                 .thenReturn(Collections.emptyList());
 
@@ -321,7 +329,7 @@ class ItemRequestServiceImplTest {
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, times(1)).findByRequestorIdOrderByCreatedDesc(userId);
     }
 
@@ -331,7 +339,7 @@ class ItemRequestServiceImplTest {
         Integer from = 0;
         Integer size = 10;
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceService.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findByRequestorIdNotOrderByCreatedDesc(eq(userId), any(Pageable.class)))
                 .thenReturn(Collections.emptyList());
 
@@ -339,7 +347,7 @@ class ItemRequestServiceImplTest {
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, times(1))
                 .findByRequestorIdNotOrderByCreatedDesc(eq(userId), any(Pageable.class));
     }
@@ -379,9 +387,9 @@ class ItemRequestServiceImplTest {
                 .items(Collections.emptyList())
                 .build();
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceService.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findByRequestorIdOrderByCreatedDesc(userId)).thenReturn(requests);
-        when(itemRepository.findByRequestId(anyLong())).thenReturn(Collections.emptyList());
+        when(itemRepository.findByRequestIdIn(anyList())).thenReturn(Collections.emptyList());
 
         when(itemRequestMapper.toItemRequestResponse(request1)).thenReturn(response1);
         when(itemRequestMapper.toItemRequestResponse(request2)).thenReturn(response2);
@@ -390,7 +398,7 @@ class ItemRequestServiceImplTest {
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(userRepository, times(1)).existsById(userId);
+        verify(userExistenceService, times(1)).exists(userId);
         verify(itemRequestRepository, times(1)).findByRequestorIdOrderByCreatedDesc(userId);
 
         verify(itemRequestMapper, times(1)).toItemRequestResponse(request1);
@@ -470,9 +478,11 @@ class ItemRequestServiceImplTest {
         itemRequest.setDescription("Test request");
         itemRequest.setRequestor(user);
         itemRequest.setCreated(LocalDateTime.now());
+        itemRequest.setVersion(0L);
 
         Item item = new Item();
         item.setId(1L);
+        item.setVersion(2L);
         item.setName("Test item");
         item.setDescription("Test description");
         item.setAvailable(true);
@@ -495,13 +505,20 @@ class ItemRequestServiceImplTest {
                 .items(List.of(itemDto))
                 .build();
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceService.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.of(itemRequest));
         when(itemRepository.findByRequestId(requestId)).thenReturn(List.of(item));
 
         when(itemRequestMapper.toItemRequestResponse(itemRequest)).thenReturn(expectedResponse);
 
-        ItemRequestResponse result = itemRequestService.getRequestById(userId, requestId);
+        when(itemRequestRepository.findVersionById(requestId)).thenReturn(Optional.of(0L));
+        when(itemRepository.findVersionViewsByRequestId(requestId)).thenReturn(
+                List.of(new ItemVersionView(1L, userId, 2L)));
+
+        Tagged<ItemRequestResponse> tagged = itemRequestService.getRequestById(userId, requestId);
+        ItemRequestResponse result = tagged.body();
+
+        assertEquals(itemRequestService.getRequestTag(userId, requestId), tagged.tag());
 
         assertNotNull(result);
         assertNotNull(result.getItems());
@@ -511,4 +528,82 @@ class ItemRequestServiceImplTest {
         verify(itemRepository, times(1)).findByRequestId(requestId);
         verify(itemRequestMapper, times(1)).toItemRequestResponse(itemRequest);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserRequests_ShouldAttachItemsToRequestsWithSingleQuery() {
+        Long userId = 1L;
+
+        User user = new User();
+        user.setId(userId);
+
+        ItemRequest request1 = new ItemRequest();
+        request1.setId(1L);
+        request1.setDescription("First request");
+        request1.setRequestor(user);
+        request1.setCreated(LocalDateTime.now().minusDays(1));
+
+        ItemRequest request2 = new ItemRequest();
+        request2.setId(2L);
+        request2.setDescription("Second request");
+        request2.setRequestor(user);
+        request2.setCreated(LocalDateTime.now());
+
+        Item item1 = new Item();
+        item1.setId(10L);
+        item1.setName("First item");
+        item1.setOwner(3L);
+        item1.setRequest(request1);
+
+        Item item2 = new Item();
+        item2.setId(11L);
+        item2.setName("Second item");
+        item2.setOwner(3L);
+        item2.setRequest(request1);
+
+        when(userExistenceService.exists(userId)).thenReturn(true);
+        when(itemRequestRepository.findByRequestorIdOrderByCreatedDesc(userId)).thenReturn(List.of(request2, request1));
+        when(itemRepository.findByRequestIdIn(List.of(2L, 1L))).thenReturn(List.of(item1, item2));
+        when(itemRequestMapper.toItemRequestResponse(any(ItemRequest.class))).thenAnswer(invocation -> {
+            ItemRequest itemRequest = invocation.getArgument(0);
+            return ItemRequestResponse.builder()
+                    .id(itemRequest.getId())
+                    .description(itemRequest.getDescription())
+                    .created(itemRequest.getCreated())
+                    .build();
+        });
+
+        List<ItemRequestResponse> result = itemRequestService.getUserRequests(userId);
+
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getId());
+        assertTrue(result.get(0).getItems().isEmpty());
+        assertEquals(1L, result.get(1).getId());
+        assertEquals(List.of(10L, 11L), result.get(1).getItems().stream().map(ItemDto::getId).toList());
+        assertEquals(1L, result.get(1).getItems().get(0).getRequestId());
+        verify(itemRepository, times(1)).findByRequestIdIn(List.of(2L, 1L));
+        verify(itemRepository, never()).findByRequestId(anyLong());
+    }
+
+    @Test
+    void getRequestTag_shouldChangeWhenAnswerItemChanges() {
+        when(userExistenceService.exists(1L)).thenReturn(true);
+        when(itemRequestRepository.findVersionById(1L)).thenReturn(Optional.of(0L));
+        when(itemRepository.findVersionViewsByRequestId(1L)).thenReturn(
+                List.of(new ItemVersionView(5L, 2L, 0L)),
+                List.of(new ItemVersionView(5L, 2L, 1L)));
+
+        String tag = itemRequestService.getRequestTag(1L, 1L);
+
+        assertNotEquals(tag, itemRequestService.getRequestTag(1L, 1L));
+        verify(itemRequestRepository, never()).findById(anyLong());
+        verifyNoInteractions(itemRequestMapper);
+    }
+
+    @Test
+    void getRequestTag_WhenRequestNotFound_ShouldThrow() {
+        when(userExistenceService.exists(1L)).thenReturn(true);
+        when(itemRequestRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemRequestService.getRequestTag(1L, 1L));
+    }
+}
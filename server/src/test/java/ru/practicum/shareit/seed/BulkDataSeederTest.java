@@ -0,0 +1,222 @@
+package ru.practicum.shareit.seed;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(BulkDataSeeder.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+class BulkDataSeederTest {
+    private static final LocalDateTime ANCHOR = LocalDateTime.of(2030, 6, 1, 0, 0);
+
+    @Autowired
+    private BulkDataSeeder seeder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("comments", "bookings", "item_booking_summary", "items", "requests", "users")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void seed_shouldInsertPlannedRows() {
+        SeedResult result = seeder.seed(plan(42));
+
+        assertEquals(50, count("users"));
+        assertEquals(20, count("requests"));
+        assertEquals(200, count("items"));
+        assertEquals(2000, count("bookings"));
+        assertEquals(200, count("item_booking_summary"));
+        assertEquals(result.comments(), count("comments"));
+        assertTrue(result.comments() > 0);
+    }
+
+    @Test
+    void seed_shouldBeRepeatableForSameSeed() {
+        SeedResult first = seeder.seed(plan(42));
+        List<Map<String, Object>> firstBookings = bookings(first);
+        tearDown();
+
+        SeedResult second = seeder.seed(plan(42));
+        List<Map<String, Object>> secondBookings = bookings(second);
+        tearDown();
+
+        SeedResult other = seeder.seed(plan(7));
+
+        assertEquals(firstBookings, secondBookings);
+        assertEquals(first.comments(), second.comments());
+        assertNotEquals(firstBookings, bookings(other));
+    }
+
+    @Test
+    void seed_shouldSkewOwnersAndItemPopularity() {
+        SeedResult result = seeder.seed(plan(42));
+
+        Integer topOwnerItems = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM items WHERE owner_id = ?", Integer.class, result.firstUserId());
+        Integer topItemBookings = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE item_id = ?", Integer.class, result.firstItemId());
+
+        assertTrue(topOwnerItems > 200 / 50 * 5);
+        assertTrue(topItemBookings > 2000 / 200 * 5);
+    }
+
+    @Test
+    void seed_shouldKeepBookingsOfItemApartAndCommentsAfterApprovedStays() {
+        seeder.seed(plan(42));
+
+        Integer overlapping = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings a JOIN bookings b "
+                + "ON a.item_id = b.item_id AND a.id < b.id AND a.start_date < b.end_date "
+                + "AND b.start_date < a.end_date", Integer.class);
+        Integer selfBookings = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings b "
+                + "JOIN items i ON i.id = b.item_id WHERE i.owner_id = b.booker_id", Integer.class);
+        Integer orphanComments = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments c WHERE NOT EXISTS "
+                + "(SELECT 1 FROM bookings b WHERE b.item_id = c.item_id AND b.booker_id = c.author_id "
+                + "AND b.status = 'APPROVED' AND b.end_date < c.created)", Integer.class);
+
+        assertEquals(0, overlapping);
+        assertEquals(0, selfBookings);
+        assertEquals(0, orphanComments);
+    }
+
+    @Test
+    void seed_shouldContinueIdentityAfterSeededRows() {
+        SeedResult result = seeder.seed(plan(42));
+
+        User user = userRepository.save(User.builder().name("Новый").email("new@email.com").build());
+
+        assertEquals(result.firstUserId() + result.users(), user.getId());
+    }
+
+    @Test
+    void seed_shouldReserveSequenceRangeAheadOfPooledIds() {
+        User owner = userRepository.save(User.builder().name("Владелец").email("owner@email.com").build());
+        Item before = itemRepository.save(item(owner));
+
+        SeedResult result = seeder.seed(plan(42));
+        List<Item> after = itemRepository.saveAll(IntStream.range(0, 120).mapToObj(i -> item(owner)).toList());
+
+        assertTrue(result.firstItemId() > before.getId());
+        assertTrue(after.stream().allMatch(item -> item.getId() < result.firstItemId()
+                || item.getId() >= result.firstItemId() + result.items()));
+    }
+
+    @Test
+    void seed_beforeApplicationReady_shouldNotPublishDataSeededEvent() {
+        new BulkDataSeeder(jdbcTemplate, transactionManager, entityManagerFactory, eventPublisher).seed(plan(42));
+
+        assertEquals(0, events.stream(DataSeededEvent.class).count());
+    }
+
+    @Test
+    void seed_afterApplicationReady_shouldPublishDataSeededEvent() {
+        seeder.onApplicationReady();
+
+        SeedResult result = seeder.seed(plan(42));
+
+        assertEquals(List.of(new DataSeededEvent(result)), events.stream(DataSeededEvent.class).toList());
+    }
+
+    @Test
+    void plan_replayedFromSeedResult_shouldMatchWrittenBookings() {
+        SeedResult result = seeder.seed(plan(42));
+        List<List<Object>> replayed = new ArrayList<>();
+
+        new SeedPlan(plan(42)).generate(new SeedPlan.FirstIds(result.firstUserId(), 0, result.firstItemId(), 0, 0),
+                new SeedPlan.Rows() {
+                    @Override
+                    public void booking(long id, LocalDateTime start, LocalDateTime end, long itemId, long bookerId,
+                                        BookingStatus status) {
+                        replayed.add(List.of(itemId, bookerId, status.name()));
+                    }
+                });
+
+        assertEquals(jdbcTemplate.query("SELECT item_id, booker_id, status FROM bookings ORDER BY id",
+                (rs, rowNum) -> List.<Object>of(rs.getLong(1), rs.getLong(2), rs.getString(3))), replayed);
+    }
+
+    @Test
+    void seed_withSingleUser_shouldFail() {
+        SeedProperties plan = plan(42);
+        plan.setUsers(1);
+
+        assertThrows(IllegalArgumentException.class, () -> seeder.seed(plan));
+    }
+
+    private SeedProperties plan(long seed) {
+        SeedProperties plan = new SeedProperties();
+        plan.setSeed(seed);
+        plan.setUsers(50);
+        plan.setRequests(20);
+        plan.setItems(200);
+        plan.setBookings(2000);
+        plan.setAnchor(ANCHOR);
+        plan.setBatchSize(64);
+        return plan;
+    }
+
+    private Item item(User owner) {
+        return Item.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .owner(owner.getId())
+                .build();
+    }
+
+    private List<Map<String, Object>> bookings(SeedResult result) {
+        return jdbcTemplate.queryForList("SELECT b.item_id - ? AS item, b.booker_id - ? AS booker, b.start_date, "
+                + "b.end_date, b.status FROM bookings b ORDER BY b.id", result.firstItemId(), result.firstUserId());
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.seed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfSamplerTest {
+
+    @Test
+    void sample_shouldBeRepeatableForSameSeed() {
+        ZipfSampler sampler = new ZipfSampler(1000, 1.1);
+
+        int[] first = samples(sampler, new SplittableRandom(42), 100);
+        int[] second = samples(sampler, new SplittableRandom(42), 100);
+
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void sample_shouldFavourLowRanks() {
+        ZipfSampler sampler = new ZipfSampler(1000, 1.1);
+
+        int[] samples = samples(sampler, new SplittableRandom(7), 100_000);
+        long head = IntStream.of(samples).filter(rank -> rank < 10).count();
+        long tail = IntStream.of(samples).filter(rank -> rank >= 990).count();
+
+        assertTrue(IntStream.of(samples).allMatch(rank -> rank >= 0 && rank < 1000));
+        assertTrue(head > 30 * tail);
+    }
+
+    @Test
+    void sample_withZeroExponent_shouldBeUniform() {
+        ZipfSampler sampler = new ZipfSampler(4, 0);
+
+        int[] counts = new int[4];
+        for (int rank : samples(sampler, new SplittableRandom(1), 40_000)) {
+            counts[rank]++;
+        }
+
+        assertTrue(IntStream.of(counts).allMatch(count -> Math.abs(count - 10_000) < 500));
+    }
+
+    @Test
+    void constructor_shouldRejectEmptyRange() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+    }
+
+    private static int[] samples(ZipfSampler sampler, SplittableRandom random, int count) {
+        return IntStream.range(0, count).map(i -> sampler.sample(random)).toArray();
+    }
+}
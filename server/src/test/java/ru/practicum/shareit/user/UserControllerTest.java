@@ -7,6 +7,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.exception.PreconditionFailedException;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -16,6 +18,8 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -67,7 +71,7 @@ class UserControllerTest {
                 .email("ivan.petrov@example.com")
                 .build();
 
-        when(userService.updateUser(any(UpdateUserRequest.class), anyLong())).thenReturn(response);
+        when(userService.updateUser(any(UpdateUserRequest.class), anyLong(), isNull())).thenReturn(response);
 
         mockMvc.perform(patch("/users/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -86,13 +90,16 @@ class UserControllerTest {
                 .email("ivan@example.com")
                 .build();
 
-        when(userService.getUserById(anyLong())).thenReturn(response);
+        when(userService.getUserById(anyLong())).thenReturn(new Tagged<>(response, "\"user-1\""));
 
         mockMvc.perform(get("/users/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"user-1\""))
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.name").value("Иван Иванов"))
                 .andExpect(jsonPath("$.email").value("ivan@example.com"));
+
+        verify(userService, never()).getUserTag(anyLong());
     }
 
     @Test
@@ -116,4 +123,80 @@ class UserControllerTest {
         mockMvc.perform(delete("/users/1"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void getUserById_withMatchingEntityTag_shouldReturnNotModified() throws Exception {
+        when(userService.getUserTag(1L)).thenReturn("\"user-1\"");
+
+        mockMvc.perform(get("/users/1")
+                        .header("If-None-Match", "\"user-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"user-1\""));
+
+        verify(userService, never()).getUserById(anyLong());
+    }
+
+    @Test
+    void getUserById_withStaleEntityTag_shouldReturnUser() throws Exception {
+        when(userService.getUserTag(1L)).thenReturn("\"user-2\"");
+        when(userService.getUserById(1L))
+                .thenReturn(new Tagged<>(UserDto.builder().id(1L).name("Иван").build(), "\"user-2\""));
+
+        mockMvc.perform(get("/users/1")
+                        .header("If-None-Match", "\"user-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"user-2\""))
+                .andExpect(jsonPath("$.name").value("Иван"));
+    }
+
+    @Test
+    void updateUser_withStaleIfMatch_shouldReturnPreconditionFailed() throws Exception {
+        when(userService.updateUser(any(UpdateUserRequest.class), eq(1L), eq(1L)))
+                .thenThrow(new PreconditionFailedException("Пользователь изменён другим запросом"));
+
+        mockMvc.perform(patch("/users/1")
+                        .header("If-Match", "\"1-aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Иван\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateUser_withUnknownIfMatch_shouldReturnPreconditionFailed() throws Exception {
+        mockMvc.perform(patch("/users/1")
+                        .header("If-Match", "\"user-1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Иван\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(userService, never()).updateUser(any(UpdateUserRequest.class), anyLong(), any());
+    }
+
+    @Test
+    void updateUser_withIfMatch_shouldPassVersionToService() throws Exception {
+        when(userService.updateUser(any(UpdateUserRequest.class), eq(1L), eq(1L)))
+                .thenReturn(UserDto.builder().id(1L).name("Иван").build());
+
+        mockMvc.perform(patch("/users/1")
+                        .header("If-Match", "\"1-aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Иван\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Иван"));
+
+        verify(userService, never()).getUserTag(anyLong());
+    }
+
+    @Test
+    void updateUser_withoutIfMatch_shouldNotCheckVersion() throws Exception {
+        when(userService.updateUser(any(UpdateUserRequest.class), eq(1L), isNull()))
+                .thenReturn(UserDto.builder().id(1L).name("Иван").build());
+
+        mockMvc.perform(patch("/users/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Иван\"}"))
+                .andExpect(status().isOk());
+
+        verify(userService, never()).getUserTag(anyLong());
+    }
 }
\ No newline at end of file
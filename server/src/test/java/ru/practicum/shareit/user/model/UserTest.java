@@ -77,7 +77,7 @@ class UserTest {
 
     @Test
     void testAllArgsConstructor() {
-        User user = new User(1L, "Test User", "test@email.com");
+        User user = new User(1L, "Test User", "test@email.com", null);
 
         assertNotNull(user);
         assertEquals(1L, user.getId());
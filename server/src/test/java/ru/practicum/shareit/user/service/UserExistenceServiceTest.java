@@ -0,0 +1,133 @@
+package ru.practicum.shareit.user.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.transaction.TestTransaction;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserExistenceServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserExistenceService userExistenceService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userExistenceService = new UserExistenceService(userRepository, 2);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void warmUp_shouldLoadAllUserIdsInBatches() {
+        Long first = persistUser("first@email.com");
+        Long second = persistUser("second@email.com");
+        Long third = persistUser("third@email.com");
+
+        userExistenceService.warmUp();
+        statistics.clear();
+
+        assertEquals(3, userExistenceService.size());
+        assertTrue(userExistenceService.exists(first));
+        assertTrue(userExistenceService.exists(second));
+        assertTrue(userExistenceService.exists(third));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void exists_shouldFallBackToDatabaseOnMiss() {
+        userExistenceService.warmUp();
+        Long created = persistUser("late@email.com");
+        statistics.clear();
+
+        assertTrue(userExistenceService.exists(created));
+        assertTrue(userExistenceService.exists(created));
+        assertFalse(userExistenceService.exists(-1L));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void onUserCreated_shouldRememberUserOnlyAfterCommit() {
+        Long created = persistUser("created@email.com");
+
+        userExistenceService.onUserCreated(created);
+        assertEquals(0, userExistenceService.size());
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assertEquals(1, userExistenceService.size());
+
+        TestTransaction.start();
+        userRepository.deleteById(created);
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+
+    @Test
+    void onUserDeleted_shouldForgetUser() {
+        Long deleted = persistUser("deleted@email.com");
+        userExistenceService.warmUp();
+
+        userRepository.deleteById(deleted);
+        userExistenceService.onUserDeleted(deleted);
+        entityManager.flush();
+
+        assertFalse(userExistenceService.exists(deleted));
+    }
+
+    @Test
+    void exists_whenUserDeletedDuringLookup_shouldNotCacheUser() {
+        UserRepository repository = mock(UserRepository.class);
+        UserExistenceService service = new UserExistenceService(repository, 2);
+        when(repository.existsById(7L)).thenAnswer(invocation -> {
+            service.onUserDeleted(7L);
+            return true;
+        });
+
+        assertTrue(service.exists(7L));
+
+        assertEquals(0, service.size());
+    }
+
+    @Test
+    void warmUp_whenUserDeletedDuringBatch_shouldNotCacheBatch() {
+        UserRepository repository = mock(UserRepository.class);
+        UserExistenceService service = new UserExistenceService(repository, 2);
+        when(repository.findIdsAfter(anyLong(), any())).thenAnswer(invocation -> {
+            service.onUserDeleted(2L);
+            return List.of(1L, 2L);
+        }).thenReturn(List.of());
+
+        service.warmUp();
+
+        assertEquals(0, service.size());
+    }
+
+    private Long persistUser(String email) {
+        return entityManager.persist(User.builder().name("Пользователь").email(email).build()).getId();
+    }
+}
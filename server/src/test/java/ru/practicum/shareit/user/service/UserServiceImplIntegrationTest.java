@@ -0,0 +1,177 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityService;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.config.SecondLevelCacheEvictor;
+import ru.practicum.shareit.exception.EliminatingConflict;
+import ru.practicum.shareit.item.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchService;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
+import ru.practicum.shareit.user.UserMapperImpl;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({UserServiceImpl.class, UserMapperImpl.class, UserExistenceService.class, SecondLevelCacheEvictor.class,
+        BookingAvailabilityService.class, ItemSearchService.class, ItemMapperImpl.class,
+        ItemBookingSummaryService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserServiceImplIntegrationTest {
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private BookingAvailabilityService availabilityService;
+
+    @Autowired
+    private ItemSearchService itemSearchService;
+
+    @Autowired
+    private ItemBookingSummaryService itemBookingSummaryService;
+
+    @Autowired
+    private ItemBookingSummaryRepository itemBookingSummaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User booker;
+    private User otherBooker;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Владелец").email("owner@delete.test").build());
+        booker = userRepository.save(User.builder().name("Арендатор").email("booker@delete.test").build());
+        otherBooker = userRepository.save(User.builder().name("Другой").email("other@delete.test").build());
+        item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Мощная дрель")
+                .available(true)
+                .owner(owner.getId())
+                .build());
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+        availabilityService.warmUp();
+        itemSearchService.warmUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("bookings", "item_booking_summary", "items", "users")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void deleteUser_shouldReleaseSlotsOfDeletedBooker() {
+        availabilityService.reserve(saveBooking(booker));
+
+        userService.deleteUser(booker.getId());
+
+        assertTrue(availabilityService.isAvailable(item.getId(), start, start.plusDays(2)));
+        assertDoesNotThrow(() -> availabilityService.reserve(saveBooking(otherBooker)));
+    }
+
+    @Test
+    void deleteUser_shouldReleaseSlotsOnDeletedOwnerItems() {
+        availabilityService.reserve(saveBooking(booker));
+
+        userService.deleteUser(owner.getId());
+
+        assertTrue(availabilityService.isAvailable(item.getId(), start, start.plusDays(2)));
+    }
+
+    @Test
+    void deleteUser_shouldKeepSlotsOfOtherBookers() {
+        availabilityService.reserve(saveBooking(booker));
+
+        userService.deleteUser(otherBooker.getId());
+
+        assertThrows(EliminatingConflict.class, () -> availabilityService.reserve(saveBooking(owner)));
+    }
+
+    @Test
+    void deleteUser_shouldDropOwnerItemsFromSearch() {
+        assertEquals(1, itemSearchService.search("дрель", 0, 10).size());
+
+        userService.deleteUser(owner.getId());
+
+        assertTrue(itemSearchService.search("дрель", 0, 10).isEmpty());
+    }
+
+    @Test
+    void deleteUser_shouldDropOwnerItemsFromSuggestions() {
+        assertEquals(1, itemSearchService.suggest("дре", 10).size());
+
+        userService.deleteUser(owner.getId());
+
+        assertTrue(itemSearchService.suggest("дре", 10).isEmpty());
+    }
+
+    @Test
+    void deleteUser_shouldRefreshSummariesOfItemsBookedByDeletedUser() {
+        Booking remaining = saveApprovedBooking(otherBooker, start.plusDays(5));
+        saveApprovedBooking(booker, start);
+        itemBookingSummaryService.refresh(item.getId());
+        assertEquals(booker.getId(), itemBookingSummaryRepository.findById(item.getId()).orElseThrow()
+                .getNextBookerId());
+
+        userService.deleteUser(booker.getId());
+
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(remaining.getId(), summary.getNextBookingId());
+        assertEquals(otherBooker.getId(), summary.getNextBookerId());
+    }
+
+    private Booking saveApprovedBooking(User bookedBy, LocalDateTime from) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(bookedBy)
+                .start(from)
+                .end(from.plusDays(2))
+                .status(BookingStatus.APPROVED)
+                .build());
+    }
+
+    private Booking saveBooking(User bookedBy) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(bookedBy)
+                .start(start)
+                .end(start.plusDays(2))
+                .status(BookingStatus.WAITING)
+                .build());
+    }
+}
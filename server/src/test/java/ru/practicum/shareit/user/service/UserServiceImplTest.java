@@ -5,8 +5,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityService;
+import ru.practicum.shareit.config.SecondLevelCacheEvictor;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.exception.EliminatingConflict;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.PreconditionFailedException;
+import ru.practicum.shareit.item.search.ItemSearchService;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
@@ -30,6 +37,21 @@ class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private SecondLevelCacheEvictor secondLevelCacheEvictor;
+
+    @Mock
+    private UserExistenceService userExistenceService;
+
+    @Mock
+    private BookingAvailabilityService bookingAvailabilityService;
+
+    @Mock
+    private ItemSearchService itemSearchService;
+
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -52,6 +74,7 @@ class UserServiceImplTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         verify(userRepository).save(any());
+        verify(userExistenceService).onUserCreated(1L);
     }
 
     @Test
@@ -85,26 +108,39 @@ class UserServiceImplTest {
         when(userRepository.save(any())).thenReturn(existingUser);
         when(userMapper.toUserDto(any())).thenReturn(response);
 
-        UserDto result = userService.updateUser(request, userId);
+        UserDto result = userService.updateUser(request, userId, null);
 
         assertNotNull(result);
         assertEquals(userId, result.getId());
         verify(userRepository).save(any());
     }
 
+    @Test
+    void updateUser_withStaleExpectedVersion_shouldThrowPreconditionFailed() {
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setName("Иван Петров");
+        User existingUser = User.builder().id(1L).name("Иван Иванов").version(2L).build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
+
+        assertThrows(PreconditionFailedException.class, () -> userService.updateUser(request, 1L, 1L));
+        assertEquals("Иван Иванов", existingUser.getName());
+        verify(userRepository, never()).save(any());
+    }
+
     @Test
     void getUserById_shouldReturnUser() {
         Long userId = 1L;
-        User user = User.builder().id(userId).build();
+        User user = User.builder().id(userId).version(3L).build();
         UserDto response = UserDto.builder().id(userId).build();
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(userMapper.toUserDto(any())).thenReturn(response);
 
-        UserDto result = userService.getUserById(userId);
+        Tagged<UserDto> result = userService.getUserById(userId);
 
-        assertNotNull(result);
-        assertEquals(userId, result.getId());
+        assertEquals(userId, result.body().getId());
+        assertEquals(EntityTags.versioned(3L, userId), result.tag());
     }
 
     @Test
@@ -116,6 +152,19 @@ class UserServiceImplTest {
         assertThrows(NotFoundException.class, () -> userService.getUserById(userId));
     }
 
+    @Test
+    void getUserTag_shouldChangeWithVersion() {
+        Long userId = 1L;
+        when(userRepository.findVersionById(userId)).thenReturn(Optional.of(0L), Optional.of(0L), Optional.of(1L));
+
+        String tag = userService.getUserTag(userId);
+
+        assertEquals(tag, userService.getUserTag(userId));
+        assertNotEquals(tag, userService.getUserTag(userId));
+        verify(userRepository, never()).findById(anyLong());
+        verifyNoInteractions(userMapper);
+    }
+
     @Test
     void getAllUsers_shouldReturnAllUsers() {
         User user = User.builder().id(1L).build();
@@ -130,4 +179,18 @@ class UserServiceImplTest {
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deleteUser_shouldEvictCachedItemsOfDeletedOwner() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        userService.deleteUser(1L);
+
+        verify(userRepository).deleteById(1L);
+        verify(userExistenceService).onUserDeleted(1L);
+        verify(bookingAvailabilityService).onUserDeleted(1L);
+        verify(itemSearchService).onOwnerDeleted(1L);
+        verify(itemBookingSummaryService).onBookerDeleted(1L);
+        verify(secondLevelCacheEvictor).evictItemsAfterCommit();
+    }
+}